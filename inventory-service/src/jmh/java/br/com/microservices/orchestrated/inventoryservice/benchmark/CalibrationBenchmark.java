@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.inventoryservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalibrationBenchmark {
+    private static final int SIZE = 4096;
+    private static final long SEED = 42;
+
+    private int[] values;
+
+    @Setup
+    public void setup() {
+        values = new Random(SEED).ints(SIZE).toArray();
+    }
+
+    @Benchmark
+    public int[] sortArray() {
+        var sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.microservices.orchestrated.inventoryservice.benchmark;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.History;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Money;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Order;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Product;
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EHistoryStep;
+import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventBenchmark {
+    private static final int PRODUCTS = 3;
+    private static final String SOURCE = "INVENTORY_SERVICE";
+    private static final ESagaStatus STATUS = ESagaStatus.SUCCESS;
+
+    @Benchmark
+    public String toJson(JsonState state) {
+        return state.jsonUtil.toJson(state.event);
+    }
+
+    @Benchmark
+    public Event toEvent(JsonState state) {
+        return state.jsonUtil.toEvent(state.json);
+    }
+
+    @Benchmark
+    public Event addToHistory(HistoryState state) {
+        var event = new Event();
+        event.setEventHistory(state.history);
+        event.addToEventHistory(History
+                .builder()
+                .source(SOURCE)
+                .status(STATUS)
+                .step(EHistoryStep.INVENTORY_SUCCESS)
+                .createdAt(LocalDateTime.now())
+                .build());
+        state.resetIfFull();
+        return event;
+    }
+
+    @State(Scope.Thread)
+    public static class HistoryState {
+        private static final int MAX_HISTORY = 1024;
+
+        private List<History> history;
+
+        @Setup
+        public void setup() {
+            history = new ArrayList<>(createEvent(1).getEventHistory());
+        }
+
+        void resetIfFull() {
+            if(history.size() >= MAX_HISTORY) {
+                history.subList(1, history.size()).clear();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class JsonState {
+
+        @Param({"1", "10", "50"})
+        private int historySize;
+
+        private JsonUtil jsonUtil;
+        private Event event;
+        private String json;
+
+        @Setup
+        public void setup() {
+            jsonUtil = new JsonUtil(Jackson2ObjectMapperBuilder.json().build());
+            event = createEvent(historySize);
+            json = jsonUtil.toJson(event);
+        }
+    }
+
+    private static Event createEvent(int historySize) {
+        var products = new ArrayList<OrderProduct>(PRODUCTS);
+        for(var i = 0; i < PRODUCTS; i++) {
+            products.add(new OrderProduct(new Product("PRODUCT_" + i, Money.ofCents(1_000L * (i + 1))), i + 1));
+        }
+        var order = new Order();
+        order.setId("64429e987a8b646915b37360");
+        order.setProducts(products);
+        order.setTotalAmount(Money.ofCents(14_000));
+        order.setTotalItems(6);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setTransactionId("1682087576536_99d2ca6c-f074-41a6-92e0-21700148b519");
+
+        var history = new ArrayList<History>(historySize);
+        for(var i = 0; i < historySize; i++) {
+            history.add(History
+                    .builder()
+                    .source(SOURCE)
+                    .status(STATUS)
+                    .step(EHistoryStep.INVENTORY_SUCCESS)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return Event
+                .builder()
+                .id("64429e9a7a8b646915b37361")
+                .orderId(order.getId())
+                .transactionId(order.getTransactionId())
+                .payload(order)
+                .source(SOURCE)
+                .status(STATUS)
+                .eventHistory(history)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
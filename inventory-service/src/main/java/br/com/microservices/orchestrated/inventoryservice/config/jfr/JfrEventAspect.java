@@ -0,0 +1,52 @@
+package br.com.microservices.orchestrated.inventoryservice.config.jfr;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class JfrEventAspect {
+    private final Environment environment;
+
+    @Around("execution(public void br.com.microservices.orchestrated.inventoryservice.core.service..*(..)) && args(event)")
+    public Object recordSagaStep(ProceedingJoinPoint joinPoint, Event event) throws Throwable {
+        var stepEvent = new SagaStepEvent();
+        stepEvent.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            stepEvent.complete(
+                    joinPoint.getSignature().getName(),
+                    String.valueOf(event.getSource()),
+                    String.valueOf(event.getStatus()),
+                    event.getTransactionId()
+            );
+        }
+    }
+
+    @Around("@annotation(kafkaListener) && args(payload)")
+    public Object recordKafkaConsume(ProceedingJoinPoint joinPoint,
+                                     KafkaListener kafkaListener,
+                                     String payload) throws Throwable {
+        var consumeEvent = new KafkaConsumeEvent();
+        consumeEvent.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if(consumeEvent.isEnabled()) {
+                consumeEvent.complete(
+                        environment.resolvePlaceholders(String.join(",", kafkaListener.topics())),
+                        1,
+                        payload.length()
+                );
+            }
+        }
+    }
+}
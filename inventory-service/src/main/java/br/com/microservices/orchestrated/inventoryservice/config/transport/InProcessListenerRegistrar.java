@@ -0,0 +1,61 @@
+package br.com.microservices.orchestrated.inventoryservice.config.transport;
+
+import br.com.microservices.orchestrated.inventoryservice.core.transport.InProcessEventTransport;
+import br.com.microservices.orchestrated.sagabus.Subscription;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.AcknowledgingConsumerAwareMessageListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "saga.transport.type", havingValue = "in-process")
+public class InProcessListenerRegistrar implements SmartLifecycle {
+    private static final int PARTITION = 0;
+
+    private final KafkaListenerEndpointRegistry listenerEndpointRegistry;
+    private final InProcessEventTransport eventTransport;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile boolean running;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void start() {
+        for(var container : listenerEndpointRegistry.getListenerContainers()) {
+            var properties = container.getContainerProperties();
+            var listener = (AcknowledgingConsumerAwareMessageListener<String, String>) properties.getMessageListener();
+            for(var topic : properties.getTopics()) {
+                subscriptions.add(eventTransport.subscribe(topic, container.getGroupId(), (sequence, message) ->
+                        listener.onMessage(new ConsumerRecord<>(topic, PARTITION, sequence, null, (String) message), null, null)));
+                log.info("Listener {} subscribed to in-process topic {}", container.getListenerId(), topic);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        subscriptions.forEach(Subscription::close);
+        subscriptions.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 1;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.inventoryservice.config.transport;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(value = "saga.transport.type", havingValue = "in-process")
+public class InProcessTransportConfig {
+
+    @Bean
+    public static BeanPostProcessor listenerContainerFactoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> containerFactory) {
+                    containerFactory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public KafkaAdmin kafkaAdmin() {
+        var kafkaAdmin = new KafkaAdmin(Map.of());
+        kafkaAdmin.setAutoCreate(false);
+        return kafkaAdmin;
+    }
+}
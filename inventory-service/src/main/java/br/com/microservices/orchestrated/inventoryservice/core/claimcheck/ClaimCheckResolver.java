@@ -0,0 +1,106 @@
+package br.com.microservices.orchestrated.inventoryservice.core.claimcheck;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Order;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimCheckResolver {
+    private static final String CACHE_NAME = "claim-check";
+    private static final String ORDER_PRODUCTS_PATH = "/api/order/%s/products";
+    private static final TypeReference<List<OrderProduct>> ORDER_PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${saga.claim-check.order-service-url}")
+    private String orderServiceUrl;
+    @Value("${saga.claim-check.connect-timeout-ms}")
+    private long connectTimeoutMs;
+    @Value("${saga.claim-check.timeout-ms}")
+    private long timeoutMs;
+    @Value("${saga.claim-check.cache.max-lines}")
+    private long cacheMaxLines;
+    @Value("${saga.claim-check.cache.expire-after-access-ms}")
+    private long cacheExpireAfterAccessMs;
+
+    private HttpClient httpClient;
+    private LoadingCache<String, List<OrderProduct>> products;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        products = Caffeine
+                .newBuilder()
+                .maximumWeight(cacheMaxLines)
+                .weigher((String claimCheck, List<OrderProduct> lines) -> lines.size())
+                .expireAfterAccess(Duration.ofMillis(cacheExpireAfterAccessMs))
+                .recordStats()
+                .build(this::fetchProducts);
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    public List<OrderProduct> getProducts(Order order) {
+        if(isEmpty(order.getClaimCheck())) {
+            return order.getProducts();
+        }
+        return products.get(order.getClaimCheck());
+    }
+
+    private List<OrderProduct> fetchProducts(String claimCheck) {
+        var request = HttpRequest
+                .newBuilder(URI.create(orderServiceUrl.concat(String.format(ORDER_PRODUCTS_PATH, claimCheck))))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if(response.statusCode() != 200) {
+                throw new ValidationException(String.format(
+                        "Could not fetch products for claim check %s. Order service answered %s.",
+                        claimCheck,
+                        response.statusCode()
+                ));
+            }
+            var lines = objectMapper.readValue(response.body(), ORDER_PRODUCT_LIST);
+            log.info("Fetched {} products for claim check {}.", lines.size(), claimCheck);
+            return lines;
+        } catch(ValidationException e) {
+            throw e;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException(String.format("Interrupted fetching products for claim check %s.", claimCheck));
+        } catch(Exception e) {
+            throw new ValidationException(String.format(
+                    "Could not fetch products for claim check %s. %s", claimCheck, e.getMessage()
+            ));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package br.com.microservices.orchestrated.inventoryservice.core.consumer;
 
 import br.com.microservices.orchestrated.inventoryservice.core.service.InventoryService;
 import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,6 +15,7 @@ public class InventoryConsumer {
     private final JsonUtil jsonUtil;
     private final InventoryService inventoryService;
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-success}"
@@ -24,6 +26,7 @@ public class InventoryConsumer {
         inventoryService.updateInventory(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-fail}"
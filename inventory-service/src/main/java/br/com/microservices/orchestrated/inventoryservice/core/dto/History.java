@@ -1,6 +1,8 @@
 package br.com.microservices.orchestrated.inventoryservice.core.dto;
 
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,9 +14,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class History {
     private String source;
     private ESagaStatus status;
-    private String message;
+    private EHistoryStep step;
+    private String detail;
     private LocalDateTime createdAt;
 }
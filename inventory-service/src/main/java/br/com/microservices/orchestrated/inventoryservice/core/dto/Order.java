@@ -13,8 +13,9 @@ import java.util.List;
 public class Order {
     private String id;
     private List<OrderProduct> products;
-    private double totalAmount;
+    private Money totalAmount;
     private int totalItems;
     private LocalDateTime createdAt;
     private String transactionId;
+    private String claimCheck;
 }
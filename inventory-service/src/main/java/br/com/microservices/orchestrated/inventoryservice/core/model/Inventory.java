@@ -1,10 +1,14 @@
 package br.com.microservices.orchestrated.inventoryservice.core.model;
 
+import br.com.microservices.orchestrated.inventoryservice.config.jpa.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Data
 @Entity
@@ -14,7 +18,12 @@ import lombok.NoArgsConstructor;
 @Table(name = "inventory")
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "inventory_seq")
+    @GenericGenerator(
+            name = "inventory_seq",
+            type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "inventory_seq")
+    )
     private Integer id;
 
     @Column(nullable = false)
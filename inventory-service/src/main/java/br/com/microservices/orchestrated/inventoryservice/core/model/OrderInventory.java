@@ -1,10 +1,14 @@
 package br.com.microservices.orchestrated.inventoryservice.core.model;
 
+import br.com.microservices.orchestrated.inventoryservice.config.jpa.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +20,12 @@ import java.time.LocalDateTime;
 @Table(name = "order_inventory")
 public class OrderInventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "order_inventory_seq")
+    @GenericGenerator(
+            name = "order_inventory_seq",
+            type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "order_inventory_seq")
+    )
     private Integer id;
 
     @Column(nullable = false)
@@ -38,6 +47,9 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantityAvailable;
 
+    @Column(nullable = false)
+    private boolean compensated;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
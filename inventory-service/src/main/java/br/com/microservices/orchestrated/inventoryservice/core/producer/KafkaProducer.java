@@ -1,26 +1,34 @@
 package br.com.microservices.orchestrated.inventoryservice.core.producer;
 
+import br.com.microservices.orchestrated.inventoryservice.config.jfr.KafkaPublishEvent;
+import br.com.microservices.orchestrated.inventoryservice.core.transport.EventTransport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventTransport eventTransport;
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String topic;
 
     public void sendEvent(String payload) {
+        var publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
         try {
-            kafkaTemplate.send(topic, payload);
+            eventTransport.send(topic, payload);
             log.info("{} sent to topic {}", payload, topic);
         } catch (Exception e) {
             log.error("Failed to send {} to topic {}", payload, topic);
+            throw e;
+        } finally {
+            if(publishEvent.isEnabled()) {
+                publishEvent.complete(topic, 1, payload.length());
+            }
         }
     }
 }
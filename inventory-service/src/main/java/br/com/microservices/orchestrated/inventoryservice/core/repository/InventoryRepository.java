@@ -3,8 +3,9 @@ package br.com.microservices.orchestrated.inventoryservice.core.repository;
 import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
-    Optional<Inventory> findByProductCode(String productCode);
+public interface InventoryRepository extends JpaRepository<Inventory, Integer>, InventoryRepositoryCustom {
+    List<Inventory> findByProductCodeIn(Collection<String> productCodes);
 }
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.inventoryservice.core.repository;
+
+import java.util.Map;
+
+public interface InventoryRepositoryCustom {
+    int[] decreaseAvailableQuantities(Map<String, Integer> quantitiesByProductCode);
+    int[] increaseAvailableQuantities(Map<String, Integer> quantitiesByProductCode);
+}
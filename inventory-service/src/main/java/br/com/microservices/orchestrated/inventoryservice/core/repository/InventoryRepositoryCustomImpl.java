@@ -0,0 +1,45 @@
+package br.com.microservices.orchestrated.inventoryservice.core.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+@AllArgsConstructor
+public class InventoryRepositoryCustomImpl implements InventoryRepositoryCustom {
+    private static final String DECREASE_AVAILABLE_QUANTITY_SQL = """
+            UPDATE inventory
+               SET available_quantity = available_quantity - ?
+             WHERE product_code = ?
+               AND available_quantity >= ?
+            """;
+    private static final String INCREASE_AVAILABLE_QUANTITY_SQL = """
+            UPDATE inventory
+               SET available_quantity = available_quantity + ?
+             WHERE product_code = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int[] decreaseAvailableQuantities(Map<String, Integer> quantitiesByProductCode) {
+        var args = new ArrayList<Object[]>(quantitiesByProductCode.size());
+        quantitiesByProductCode.forEach((productCode, quantity) ->
+                args.add(new Object[] { quantity, productCode, quantity })
+        );
+        return jdbcTemplate.batchUpdate(DECREASE_AVAILABLE_QUANTITY_SQL, args);
+    }
+
+    @Override
+    @Transactional
+    public int[] increaseAvailableQuantities(Map<String, Integer> quantitiesByProductCode) {
+        var args = new ArrayList<Object[]>(quantitiesByProductCode.size());
+        quantitiesByProductCode.forEach((productCode, quantity) ->
+                args.add(new Object[] { quantity, productCode })
+        );
+        return jdbcTemplate.batchUpdate(INCREASE_AVAILABLE_QUANTITY_SQL, args);
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer> {
+public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer>, OrderInventoryRepositoryCustom {
     Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
     List<OrderInventory> findByOrderIdAndTransactionId(String orderId, String transactionId);
 }
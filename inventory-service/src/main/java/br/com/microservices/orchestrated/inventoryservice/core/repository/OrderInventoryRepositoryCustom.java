@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.inventoryservice.core.repository;
+
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+
+import java.util.List;
+import java.util.Map;
+
+public interface OrderInventoryRepositoryCustom {
+    void insertAll(List<OrderInventory> orderInventories);
+    Map<String, Integer> markCompensated(String orderId, String transactionId);
+}
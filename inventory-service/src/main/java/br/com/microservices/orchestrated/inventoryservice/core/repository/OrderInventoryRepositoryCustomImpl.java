@@ -0,0 +1,66 @@
+package br.com.microservices.orchestrated.inventoryservice.core.repository;
+
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@AllArgsConstructor
+public class OrderInventoryRepositoryCustomImpl implements OrderInventoryRepositoryCustom {
+    private static final String INSERT_ORDER_INVENTORY_SQL = """
+            INSERT INTO order_inventory (id, order_id, transaction_id, inventory_id, order_quantity,
+                                         old_quantity_available, new_quantity_available, compensated,
+                                         created_at, updated_at)
+            VALUES (nextval('order_inventory_seq'), ?, ?, ?, ?, ?, ?, false, ?, ?)
+            """;
+    private static final String MARK_COMPENSATED_SQL = """
+            UPDATE order_inventory oi
+               SET compensated = true, updated_at = ?
+              FROM inventory i
+             WHERE i.id = oi.inventory_id
+               AND oi.order_id = ?
+               AND oi.transaction_id = ?
+               AND oi.compensated = false
+            RETURNING i.product_code, oi.order_quantity
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(List<OrderInventory> orderInventories) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ORDER_INVENTORY_SQL, orderInventories, orderInventories.size(), (ps, orderInventory) -> {
+            ps.setString(1, orderInventory.getOrderId());
+            ps.setString(2, orderInventory.getTransactionId());
+            ps.setInt(3, orderInventory.getInventory().getId());
+            ps.setInt(4, orderInventory.getOrderQuantity());
+            ps.setInt(5, orderInventory.getOldQuantityAvailable());
+            ps.setInt(6, orderInventory.getNewQuantityAvailable());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Integer> markCompensated(String orderId, String transactionId) {
+        var quantitiesByProductCode = new TreeMap<String, Integer>();
+        jdbcTemplate.query(
+                MARK_COMPENSATED_SQL,
+                rs -> {
+                    quantitiesByProductCode.merge(rs.getString("product_code"), rs.getInt("order_quantity"), Integer::sum);
+                },
+                Timestamp.valueOf(LocalDateTime.now()),
+                orderId,
+                transactionId
+        );
+        return quantitiesByProductCode;
+    }
+}
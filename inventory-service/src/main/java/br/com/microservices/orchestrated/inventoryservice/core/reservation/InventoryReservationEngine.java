@@ -0,0 +1,137 @@
+package br.com.microservices.orchestrated.inventoryservice.core.reservation;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReservationEngine {
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ReservationShard> shards = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    @Getter
+    @Value("${inventory.reservation.engine-enabled}")
+    private boolean enabled;
+    @Value("${inventory.reservation.shards}")
+    private int shardCount;
+    @Value("${inventory.reservation.max-batch-size}")
+    private int maxBatchSize;
+    @Value("${inventory.reservation.linger-ms}")
+    private long lingerMillis;
+    @Value("${inventory.reservation.timeout-ms}")
+    private long timeoutMillis;
+
+    @PostConstruct
+    public void start() {
+        if(!enabled) {
+            return;
+        }
+        for(var i = 0; i < shardCount; i++) {
+            var shard = new ReservationShard(
+                    inventoryRepository,
+                    orderInventoryRepository,
+                    transactionTemplate,
+                    maxBatchSize,
+                    lingerMillis
+            );
+            var thread = new Thread(shard, "inventory-reservation-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            shards.add(shard);
+            threads.add(thread);
+        }
+        log.info("Inventory reservation engine started with {} shards", shardCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        shards.forEach(ReservationShard::stop);
+        for(var thread : threads) {
+            thread.join(timeoutMillis);
+        }
+    }
+
+    public CompletableFuture<Boolean> reserve(OrderInventory orderInventory) {
+        return submit(ReservationRequest.reserve(orderInventory));
+    }
+
+    public void invalidate(Collection<String> productCodes) {
+        if(!enabled) {
+            return;
+        }
+        productCodes.forEach(productCode -> submit(ReservationRequest.invalidate(productCode)));
+    }
+
+    public void reserveAll(List<OrderInventory> orderInventories, Runnable compensation) {
+        var reservations = new LinkedHashMap<String, CompletableFuture<Boolean>>();
+        orderInventories.forEach(orderInventory ->
+                reservations.put(orderInventory.getInventory().getProductCode(), reserve(orderInventory))
+        );
+
+        var outOfStockProductCodes = new ArrayList<String>();
+        try {
+            CompletableFuture
+                    .allOf(reservations.values().toArray(CompletableFuture[]::new))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+            reservations.forEach((productCode, reservation) -> {
+                if(!reservation.join()) {
+                    outOfStockProductCodes.add(productCode);
+                }
+            });
+        } catch(InterruptedException | ExecutionException | TimeoutException e) {
+            compensateWhenReserved(reservations.values(), compensation);
+            if(e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ValidationException("Failed to reserve inventory. ".concat(String.valueOf(e.getMessage())));
+        }
+
+        if(!outOfStockProductCodes.isEmpty()) {
+            compensateWhenReserved(reservations.values(), compensation);
+            throw new ValidationException(String.format("Products %s are out of stock.", outOfStockProductCodes));
+        }
+    }
+
+    // A reservation that committed, even after the timeout, already wrote its order_inventory rows,
+    // so the compensation gives the stock back from them. Compensating is idempotent per order.
+    private void compensateWhenReserved(Collection<CompletableFuture<Boolean>> reservations, Runnable compensation) {
+        reservations.forEach(reservation -> reservation.thenAcceptAsync(reserved -> {
+            if(!reserved) {
+                return;
+            }
+            try {
+                compensation.run();
+            } catch(Exception e) {
+                log.error("Error trying to compensate committed inventory reservations, the inventory must be fixed manually: ", e);
+            }
+        }));
+    }
+
+    private CompletableFuture<Boolean> submit(ReservationRequest request) {
+        shards.get(Math.floorMod(request.productCode().hashCode(), shards.size())).submit(request);
+        return request.result();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.inventoryservice.core.reservation;
+
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EReservationOperation;
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+
+import java.util.concurrent.CompletableFuture;
+
+public record ReservationRequest(EReservationOperation operation,
+                                 String productCode,
+                                 int quantity,
+                                 OrderInventory orderInventory,
+                                 CompletableFuture<Boolean> result) {
+
+    public static ReservationRequest reserve(OrderInventory orderInventory) {
+        return new ReservationRequest(
+                EReservationOperation.RESERVE,
+                orderInventory.getInventory().getProductCode(),
+                orderInventory.getOrderQuantity(),
+                orderInventory,
+                new CompletableFuture<>()
+        );
+    }
+
+    public static ReservationRequest invalidate(String productCode) {
+        return new ReservationRequest(EReservationOperation.INVALIDATE, productCode, 0, null, new CompletableFuture<>());
+    }
+}
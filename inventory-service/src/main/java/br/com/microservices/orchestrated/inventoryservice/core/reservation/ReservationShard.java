@@ -0,0 +1,221 @@
+package br.com.microservices.orchestrated.inventoryservice.core.reservation;
+
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.inventoryservice.core.enums.EReservationOperation.INVALIDATE;
+
+@Slf4j
+public class ReservationShard implements Runnable {
+    private static final int MAX_COMMIT_ATTEMPTS = 2;
+
+    private final BlockingQueue<ReservationRequest> queue = new LinkedBlockingQueue<>();
+    private final Map<String, Integer> availableByProductCode = new HashMap<>();
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private volatile boolean running = true;
+
+    public ReservationShard(InventoryRepository inventoryRepository,
+                            OrderInventoryRepository orderInventoryRepository,
+                            TransactionTemplate transactionTemplate,
+                            int maxBatchSize,
+                            long lingerMillis) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderInventoryRepository = orderInventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    }
+
+    public void submit(ReservationRequest request) {
+        if(!running) {
+            request.result().completeExceptionally(new IllegalStateException("Reservation engine is stopped."));
+            return;
+        }
+        queue.add(request);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        while(running || !queue.isEmpty()) {
+            try {
+                var batch = drainBatch();
+                if(!batch.isEmpty()) {
+                    processBatch(batch);
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch(Exception e) {
+                log.error("Unexpected error on inventory reservation shard: ", e);
+            }
+        }
+    }
+
+    private List<ReservationRequest> drainBatch() throws InterruptedException {
+        var batch = new ArrayList<ReservationRequest>(maxBatchSize);
+        var first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if(first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        var deadline = System.nanoTime() + lingerNanos;
+        while(batch.size() < maxBatchSize) {
+            var remaining = deadline - System.nanoTime();
+            if(queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            if(remaining <= 0) {
+                break;
+            }
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if(next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void processBatch(List<ReservationRequest> batch) {
+        try {
+            commitBatch(batch);
+        } catch(Exception e) {
+            log.error("Error trying to process {} inventory reservation requests: ", batch.size(), e);
+            batch.forEach(request -> {
+                availableByProductCode.remove(request.productCode());
+                request.result().completeExceptionally(e);
+            });
+        }
+    }
+
+    private void commitBatch(List<ReservationRequest> batch) {
+        for(var attempt = 1; attempt <= MAX_COMMIT_ATTEMPTS; attempt++) {
+            var snapshot = new HashMap<>(availableByProductCode);
+            var pendingDeltas = new TreeMap<String, Integer>();
+            var orderInventories = new ArrayList<OrderInventory>();
+            var outcomes = new ArrayList<Boolean>(batch.size());
+
+            loadMissingProductCodes(batch);
+            batch.forEach(request -> outcomes.add(apply(request, pendingDeltas, orderInventories)));
+
+            var conflictingProductCodes = commit(pendingDeltas, orderInventories);
+            if(conflictingProductCodes.isEmpty()) {
+                for(var i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(outcomes.get(i));
+                }
+                return;
+            }
+
+            log.warn("Cached inventory out of date for products {}, reloading from database.", conflictingProductCodes);
+            availableByProductCode.clear();
+            availableByProductCode.putAll(snapshot);
+            conflictingProductCodes.forEach(availableByProductCode::remove);
+        }
+
+        var exception = new IllegalStateException("Failed to commit inventory reservations.");
+        batch.forEach(request -> request.result().completeExceptionally(exception));
+    }
+
+    private void loadMissingProductCodes(List<ReservationRequest> batch) {
+        var missingProductCodes = new HashSet<String>();
+        batch.forEach(request -> {
+            if(!availableByProductCode.containsKey(request.productCode())) {
+                missingProductCodes.add(request.productCode());
+            }
+        });
+        if(!missingProductCodes.isEmpty()) {
+            load(missingProductCodes, Map.of());
+        }
+    }
+
+    private void load(Set<String> productCodes, Map<String, Integer> pendingDeltas) {
+        inventoryRepository
+                .findByProductCodeIn(productCodes)
+                .forEach(inventory -> availableByProductCode.put(
+                        inventory.getProductCode(),
+                        inventory.getAvailableQuantity() - pendingDeltas.getOrDefault(inventory.getProductCode(), 0)
+                ));
+    }
+
+    private boolean apply(ReservationRequest request,
+                          Map<String, Integer> pendingDeltas,
+                          List<OrderInventory> orderInventories) {
+        var productCode = request.productCode();
+        if(!availableByProductCode.containsKey(productCode) && request.operation() != INVALIDATE) {
+            load(Set.of(productCode), pendingDeltas);
+        }
+
+        var available = availableByProductCode.get(productCode);
+        return switch(request.operation()) {
+            case RESERVE -> {
+                if(available == null || available < request.quantity()) {
+                    yield false;
+                }
+                var orderInventory = request.orderInventory();
+                orderInventory.setOldQuantityAvailable(available);
+                orderInventory.setNewQuantityAvailable(available - request.quantity());
+                orderInventories.add(orderInventory);
+                availableByProductCode.put(productCode, available - request.quantity());
+                pendingDeltas.merge(productCode, request.quantity(), Integer::sum);
+                yield true;
+            }
+            case INVALIDATE -> {
+                availableByProductCode.remove(productCode);
+                yield true;
+            }
+        };
+    }
+
+    private Set<String> commit(Map<String, Integer> pendingDeltas, List<OrderInventory> orderInventories) {
+        if(orderInventories.isEmpty()) {
+            return Set.of();
+        }
+
+        // The order_inventory rows commit with the stock they took, so a crash never leaves stock
+        // reserved without the rows the rollback compensates from.
+        var conflictingProductCodes = new HashSet<String>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var productCodes = new ArrayList<>(pendingDeltas.keySet());
+                var updatedRows = inventoryRepository.decreaseAvailableQuantities(pendingDeltas);
+                for(var i = 0; i < updatedRows.length; i++) {
+                    if(updatedRows[i] == 0) {
+                        conflictingProductCodes.add(productCodes.get(i));
+                    }
+                }
+                if(!conflictingProductCodes.isEmpty()) {
+                    status.setRollbackOnly();
+                    return;
+                }
+                orderInventoryRepository.insertAll(orderInventories);
+            });
+        } catch(Exception e) {
+            log.error("Error trying to commit inventory reservations: ", e);
+            conflictingProductCodes.addAll(pendingDeltas.keySet());
+        }
+        return conflictingProductCodes;
+    }
+}
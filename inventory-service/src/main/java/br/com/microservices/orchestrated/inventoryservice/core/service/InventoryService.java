@@ -1,22 +1,34 @@
 package br.com.microservices.orchestrated.inventoryservice.core.service;
 
 import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.claimcheck.ClaimCheckResolver;
 import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
 import br.com.microservices.orchestrated.inventoryservice.core.dto.History;
 import br.com.microservices.orchestrated.inventoryservice.core.dto.Order;
 import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
 import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
 import br.com.microservices.orchestrated.inventoryservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
 import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.reservation.InventoryReservationEngine;
 import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,12 +39,24 @@ public class InventoryService {
     private final KafkaProducer kafkaProducer;
     private final InventoryRepository inventoryRepository;
     private final OrderInventoryRepository orderInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryReservationEngine reservationEngine;
+    private final ClaimCheckResolver claimCheckResolver;
 
+    @Timed("saga.step")
     public void updateInventory(Event event) {
         try {
             checkCurrentOrderInventory(event);
-            saveOrderInventory(event);
-            updateInventory(event.getPayload());
+            var quantitiesByProductCode = groupQuantitiesByProductCode(event.getPayload());
+            var inventoriesByProductCode = findInventoriesByProductCodes(quantitiesByProductCode.keySet());
+            if(reservationEngine.isEnabled()) {
+                reserveInventory(event, quantitiesByProductCode, inventoriesByProductCode);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> {
+                    saveOrderInventory(event, quantitiesByProductCode, inventoriesByProductCode);
+                    updateInventory(quantitiesByProductCode);
+                });
+            }
             handleSuccess(event);
         } catch(Exception e) {
             log.error("Error trying to update inventory: ", e);
@@ -54,59 +78,103 @@ public class InventoryService {
         }
     }
 
-    private void saveOrderInventory(Event event) {
-        event.getPayload().getProducts().forEach(product -> {
-            var inventory = findInventoryByProductCode(product.getProduct().getCode());
-            var orderInventory = createOrderInventoryObject(event, product, inventory);
-            orderInventoryRepository.save(orderInventory);
-        });
+    private void reserveInventory(Event event,
+                                  Map<String, Integer> quantitiesByProductCode,
+                                  Map<String, Inventory> inventoriesByProductCode) {
+        reservationEngine.reserveAll(
+                createOrderInventories(event, quantitiesByProductCode, inventoriesByProductCode),
+                () -> compensateInventory(event)
+        );
     }
 
-    private OrderInventory createOrderInventoryObject(Event event, OrderProduct orderProduct, Inventory inventory) {
+    private void saveOrderInventory(Event event,
+                                    Map<String, Integer> quantitiesByProductCode,
+                                    Map<String, Inventory> inventoriesByProductCode) {
+        orderInventoryRepository.insertAll(createOrderInventories(event, quantitiesByProductCode, inventoriesByProductCode));
+    }
+
+    private List<OrderInventory> createOrderInventories(Event event,
+                                                        Map<String, Integer> quantitiesByProductCode,
+                                                        Map<String, Inventory> inventoriesByProductCode) {
+        var orderInventories = new ArrayList<OrderInventory>(quantitiesByProductCode.size());
+        quantitiesByProductCode.forEach((productCode, quantity) -> orderInventories.add(
+                createOrderInventoryObject(event, quantity, inventoriesByProductCode.get(productCode))
+        ));
+        return orderInventories;
+    }
+
+    private OrderInventory createOrderInventoryObject(Event event, Integer orderQuantity, Inventory inventory) {
         return OrderInventory
                 .builder()
                 .inventory(inventory)
                 .orderId(event.getOrderId())
                 .transactionId(event.getTransactionId())
                 .oldQuantityAvailable(inventory.getAvailableQuantity())
-                .orderQuantity(orderProduct.getQuantity())
-                .newQuantityAvailable(inventory.getAvailableQuantity() - orderProduct.getQuantity())
+                .orderQuantity(orderQuantity)
+                .newQuantityAvailable(inventory.getAvailableQuantity() - orderQuantity)
                 .build();
     }
 
-    private void updateInventory(Order order) {
-        order.getProducts().forEach(product -> {
-            var inventory = findInventoryByProductCode(product.getProduct().getCode());
-            validateQuantities(inventory.getAvailableQuantity(), product.getQuantity());
-            inventory.setAvailableQuantity(inventory.getAvailableQuantity() - product.getQuantity());
-            inventoryRepository.save(inventory);
-        });
+    private void updateInventory(Map<String, Integer> quantitiesByProductCode) {
+        var updatedRows = inventoryRepository.decreaseAvailableQuantities(quantitiesByProductCode);
+        validateUpdatedRows(new ArrayList<>(quantitiesByProductCode.keySet()), updatedRows);
+    }
+
+    private Map<String, Integer> groupQuantitiesByProductCode(Order order) {
+        return claimCheckResolver
+                .getProducts(order)
+                .stream()
+                .collect(Collectors.toMap(
+                        product -> product.getProduct().getCode(),
+                        OrderProduct::getQuantity,
+                        Integer::sum,
+                        TreeMap::new
+                ));
     }
 
-    private void validateQuantities(Integer availableQuantity, Integer orderQuantity) {
-        if(availableQuantity < orderQuantity) {
-            throw new ValidationException("Product is out of stock.");
+    private void validateUpdatedRows(List<String> productCodes, int[] updatedRows) {
+        for(var i = 0; i < updatedRows.length; i++) {
+            if(updatedRows[i] == 0) {
+                throw new ValidationException(String.format("Product %s is out of stock.", productCodes.get(i)));
+            }
         }
     }
 
-    private Inventory findInventoryByProductCode(String productCode) {
-        return inventoryRepository
-                .findByProductCode(productCode)
-                .orElseThrow(() -> new ValidationException("Failed to find inventory using the informed productCode"));
+    private Map<String, Inventory> findInventoriesByProductCodes(Set<String> productCodes) {
+        var inventoriesByProductCode = inventoryRepository
+                .findByProductCodeIn(productCodes)
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+
+        var missingProductCodes = productCodes
+                .stream()
+                .filter(productCode -> !inventoriesByProductCode.containsKey(productCode))
+                .toList();
+        if(!missingProductCodes.isEmpty()) {
+            throw new ValidationException(String.format(
+                    "Failed to find inventory using the informed productCodes: %s", missingProductCodes
+            ));
+        }
+        return inventoriesByProductCode;
     }
 
     private void handleSuccess(Event event) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.SUCCESS);
-        addToHistory(event, "Inventory updated successfully.");
+        addToHistory(event, EHistoryStep.INVENTORY_SUCCESS);
+    }
+
+    private void addToHistory(Event event, EHistoryStep step) {
+        addToHistory(event, step, null);
     }
 
-    private void addToHistory(Event event, String message) {
+    private void addToHistory(Event event, EHistoryStep step, String detail) {
         var history = History
                 .builder()
                 .source(CURRENT_SOURCE)
                 .status(event.getStatus())
-                .message(message)
+                .step(step)
+                .detail(detail)
                 .createdAt(LocalDateTime.now())
                 .build();
         event.addToEventHistory(history);
@@ -115,35 +183,34 @@ public class InventoryService {
     private void handleFail(Event event, String message) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
-        addToHistory(event, String.format("Fail to realize update inventory. %s", message));
+        addToHistory(event, EHistoryStep.INVENTORY_FAIL, message);
     }
 
-    private void updateInventoryToPreviousValues(Event event) {
-        orderInventoryRepository
-                .findByOrderIdAndTransactionId(
+    private void compensateInventory(Event event) {
+        var compensatedQuantities = transactionTemplate.execute(status -> {
+            var quantitiesByProductCode = orderInventoryRepository.markCompensated(
                     event.getOrderId(),
-                    event.getTransactionId())
-                .forEach(orderInventory -> {
-                    var inventory = orderInventory.getInventory();
-                    inventory.setAvailableQuantity(orderInventory.getOldQuantityAvailable());
-                    inventoryRepository.save(inventory);
-                    log.info("Restored inventory for order {} from {} to {}",
-                            event.getOrderId(),
-                            orderInventory.getNewQuantityAvailable(),
-                            inventory.getAvailableQuantity()
-                    );
-                });
+                    event.getTransactionId()
+            );
+            if(!quantitiesByProductCode.isEmpty()) {
+                inventoryRepository.increaseAvailableQuantities(quantitiesByProductCode);
+            }
+            return quantitiesByProductCode;
+        });
+        reservationEngine.invalidate(compensatedQuantities.keySet());
+        log.info("Compensated inventory for order {}: {}", event.getOrderId(), compensatedQuantities);
     }
 
+    @Timed("saga.step")
     public void rollbackInventory(Event event) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.FAIL);
 
         try {
-            updateInventoryToPreviousValues(event);
-            addToHistory(event, "Rollback executed for inventory");
+            compensateInventory(event);
+            addToHistory(event, EHistoryStep.INVENTORY_ROLLBACK);
         } catch (Exception e) {
-            addToHistory(event, "Rollback not executed for inventory: ".concat(e.getMessage()));
+            addToHistory(event, EHistoryStep.INVENTORY_ROLLBACK_FAIL, e.getMessage());
         }
         kafkaProducer.sendEvent(jsonUtil.toJson(event));
     }
@@ -1,4 +1,4 @@
-INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (1, 'COMIC_BOOK', 4);
-INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (2, 'BOOK', 2);
-INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (3, 'MOVIE', 5);
-INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (4, 'MUSIC', 9);
\ No newline at end of file
+INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (nextval('inventory_seq'), 'COMIC_BOOK', 4);
+INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (nextval('inventory_seq'), 'BOOK', 2);
+INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (nextval('inventory_seq'), 'MOVIE', 5);
+INSERT INTO public.inventory (id, product_code, available_quantity) VALUES (nextval('inventory_seq'), 'MUSIC', 9);
\ No newline at end of file
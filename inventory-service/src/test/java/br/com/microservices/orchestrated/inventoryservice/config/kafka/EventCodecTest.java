@@ -0,0 +1,106 @@
+package br.com.microservices.orchestrated.inventoryservice.config.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecTest {
+    private static final int THRESHOLD_BYTES = 64;
+    private static final int MAX_DECODED_BYTES = 4096;
+
+    private final EventCodec eventCodec = new EventCodec(true, THRESHOLD_BYTES, MAX_DECODED_BYTES, new SimpleMeterRegistry());
+
+    @Test
+    void roundTripsCompressedPayloads() {
+        var payload = "{\"orderId\":\"order-1\",\"products\":[" + "{\"code\":\"COMIC_BOOKS\",\"quantity\":1},".repeat(40) + "]}";
+        var headers = new RecordHeaders();
+
+        var encoded = eventCodec.encode(headers, payload);
+
+        assertNotNull(headers.lastHeader(EventCodec.CODEC_HEADER));
+        assertTrue(encoded.length < payload.getBytes(UTF_8).length);
+        assertEquals(payload, eventCodec.decode(headers, encoded));
+    }
+
+    @Test
+    void leavesSmallAndOversizedPayloadsUncompressed() {
+        for(var payload : new String[]{"{\"orderId\":\"order-1\"}", "a".repeat(MAX_DECODED_BYTES + 1)}) {
+            var headers = new RecordHeaders();
+
+            var encoded = eventCodec.encode(headers, payload);
+
+            assertNull(headers.lastHeader(EventCodec.CODEC_HEADER));
+            assertEquals(payload, eventCodec.decode(headers, encoded));
+        }
+    }
+
+    @Test
+    void rejectsLengthPrefixesOutsideTheLimit() {
+        for(var length : new int[]{Integer.MAX_VALUE, MAX_DECODED_BYTES + 1, -1}) {
+            var data = ByteBuffer.allocate(Integer.BYTES + 8).putInt(length).array();
+
+            var exception = assertThrows(IllegalStateException.class, () -> eventCodec.decode(lz4Headers(), data));
+
+            assertTrue(exception.getMessage().contains(String.valueOf(length)));
+        }
+    }
+
+    @Test
+    void rejectsDataShorterThanTheLengthPrefix() {
+        assertThrows(IllegalStateException.class, () -> eventCodec.decode(lz4Headers(), new byte[]{0, 1}));
+    }
+
+    @Test
+    void rejectsCorruptOrTruncatedBlocks() {
+        var headers = new RecordHeaders();
+        var encoded = eventCodec.encode(headers, "saga event ".repeat(50));
+        var truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        var garbage = ByteBuffer.allocate(Integer.BYTES + 16).putInt(MAX_DECODED_BYTES).put(new byte[16]).array();
+        Arrays.fill(garbage, Integer.BYTES, garbage.length, (byte) 0xF0);
+
+        assertThrows(RuntimeException.class, () -> eventCodec.decode(headers, truncated));
+        assertThrows(RuntimeException.class, () -> eventCodec.decode(headers, garbage));
+    }
+
+    @Test
+    void rejectsBlocksThatDecodeToADifferentLength() {
+        var headers = new RecordHeaders();
+        var payload = "saga event ".repeat(50);
+        var encoded = eventCodec.encode(headers, payload);
+        ByteBuffer.wrap(encoded).putInt(payload.length() + 10);
+
+        assertThrows(IllegalStateException.class, () -> eventCodec.decode(headers, encoded));
+    }
+
+    @Test
+    void rejectsUnknownCodecs() {
+        var headers = new RecordHeaders();
+        headers.add(EventCodec.CODEC_HEADER, "zstd".getBytes(UTF_8));
+
+        assertThrows(IllegalStateException.class, () -> eventCodec.decode(headers, new byte[8]));
+    }
+
+    @Test
+    void surfacesCorruptRecordsThroughTheErrorHandlingDeserializer() {
+        var deserializer = new ErrorHandlingDeserializer<>(new EventCodecDeserializer(eventCodec));
+        var headers = lz4Headers();
+        var data = ByteBuffer.allocate(Integer.BYTES).putInt(Integer.MAX_VALUE).array();
+
+        assertNull(deserializer.deserialize("inventory-success", headers, data));
+        assertNotNull(headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER));
+    }
+
+    private RecordHeaders lz4Headers() {
+        var headers = new RecordHeaders();
+        headers.add(EventCodec.CODEC_HEADER, "lz4".getBytes(UTF_8));
+        return headers;
+    }
+}
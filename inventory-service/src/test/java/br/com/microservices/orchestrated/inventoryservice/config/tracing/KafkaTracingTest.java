@@ -0,0 +1,179 @@
+package br.com.microservices.orchestrated.inventoryservice.config.tracing;
+
+import br.com.microservices.orchestrated.inventoryservice.config.kafka.KafkaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig(classes = {KafkaConfig.class, KafkaTracingTest.TracingTestConfig.class})
+@EmbeddedKafka(partitions = 1, topics = KafkaTracingTest.TOPIC, bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@TestPropertySource(properties = {
+        "spring.kafka.consumer.group-id=inventory-group",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.listener.observation-enabled=true",
+        "spring.kafka.topic.inventory-success=inventory-success",
+        "spring.kafka.topic.inventory-fail=inventory-fail",
+        "spring.kafka.topic.orchestrator=" + KafkaTracingTest.TOPIC,
+        "saga.compression.enabled=true",
+        "saga.compression.threshold-bytes=64",
+        "saga.compression.max-decoded-bytes=8388608"
+})
+class KafkaTracingTest {
+    static final String TOPIC = "orchestrator";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+    @Autowired
+    private Tracer tracer;
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    @Autowired
+    private BlockingQueue<String> consumedTraceIds;
+
+    @Test
+    void continuesTheProducerTraceInTheConsumer() throws Exception {
+        var parent = tracer.nextSpan().name("saga").start();
+        try(var ignored = tracer.withSpan(parent)) {
+            kafkaTemplate.send(TOPIC, "{\"orderId\":\"order-1\",\"payload\":\"" + "x".repeat(128) + "\"}").get(10, TimeUnit.SECONDS);
+        } finally {
+            parent.end();
+        }
+
+        var traceId = parent.context().traceId();
+        assertEquals(traceId, consumedTraceIds.poll(30, TimeUnit.SECONDS));
+        var producer = awaitSpan(SpanKind.PRODUCER);
+        var consumer = awaitSpan(SpanKind.CONSUMER);
+        assertEquals(traceId, producer.getTraceId());
+        assertEquals(traceId, consumer.getTraceId());
+        assertEquals(parent.context().spanId(), producer.getParentSpanId());
+        assertEquals(producer.getSpanId(), consumer.getParentSpanId());
+    }
+
+    private SpanData awaitSpan(SpanKind kind) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while(System.nanoTime() < deadline) {
+            Optional<SpanData> span = spanExporter
+                    .getFinishedSpanItems()
+                    .stream()
+                    .filter(spanData -> spanData.getKind() == kind)
+                    .findFirst();
+            if(span.isPresent()) {
+                return span.get();
+            }
+            Thread.sleep(20);
+        }
+        return fail("No " + kind + " span was exported.");
+    }
+
+    // The beans Spring Boot's tracing auto-configuration provides, wired by hand so the test does not need the
+    // databases the rest of the application context connects to.
+    @Configuration
+    static class TracingTestConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        @Bean(destroyMethod = "close")
+        public SdkTracerProvider tracerProvider(InMemorySpanExporter spanExporter) {
+            return SdkTracerProvider
+                    .builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                    .build();
+        }
+
+        @Bean
+        public OtelTracer tracer(SdkTracerProvider tracerProvider) {
+            var currentTraceContext = new OtelCurrentTraceContext();
+            return new OtelTracer(
+                    tracerProvider.get("inventory-service"),
+                    currentTraceContext,
+                    event -> {
+                    },
+                    new OtelBaggageManager(currentTraceContext, List.of(), List.of())
+            );
+        }
+
+        @Bean
+        public ObservationRegistry observationRegistry(OtelTracer tracer, SdkTracerProvider tracerProvider) {
+            var propagator = new OtelPropagator(
+                    ContextPropagators.create(W3CTraceContextPropagator.getInstance()),
+                    tracerProvider.get("inventory-service")
+            );
+            var observationRegistry = ObservationRegistry.create();
+            observationRegistry.observationConfig().observationHandler(
+                    new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                            new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                            new PropagatingReceiverTracingObservationHandler<>(tracer, propagator),
+                            new DefaultTracingObservationHandler(tracer)
+                    )
+            );
+            return observationRegistry;
+        }
+
+        @Bean
+        public BlockingQueue<String> consumedTraceIds() {
+            return new LinkedBlockingQueue<>();
+        }
+
+        @Bean
+        public TracedListener tracedListener(Tracer tracer, BlockingQueue<String> consumedTraceIds) {
+            return new TracedListener(tracer, consumedTraceIds);
+        }
+    }
+
+    static class TracedListener {
+        private final Tracer tracer;
+        private final BlockingQueue<String> consumedTraceIds;
+
+        TracedListener(Tracer tracer, BlockingQueue<String> consumedTraceIds) {
+            this.tracer = tracer;
+            this.consumedTraceIds = consumedTraceIds;
+        }
+
+        @KafkaListener(topics = TOPIC)
+        public void consume(String payload) {
+            var span = tracer.currentSpan();
+            consumedTraceIds.add(span == null ? "" : span.context().traceId());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.microservices.orchestrated.inventoryservice.core.reservation;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationEngineTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private OrderInventoryRepository orderInventoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryReservationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        engine = new InventoryReservationEngine(
+                inventoryRepository,
+                orderInventoryRepository,
+                new TransactionTemplate(transactionManager)
+        );
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "shardCount", 1);
+        ReflectionTestUtils.setField(engine, "maxBatchSize", 16);
+        ReflectionTestUtils.setField(engine, "lingerMillis", 20L);
+        ReflectionTestUtils.setField(engine, "timeoutMillis", 200L);
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    void compensatesCommittedReservationsWhenAnotherProductIsOutOfStock() throws Exception {
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS", "BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10), inventory("BOOKS", 0)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap())).thenReturn(new int[]{1});
+        var compensations = new CountDownLatch(1);
+
+        var exception = assertThrows(ValidationException.class, () -> engine.reserveAll(
+                List.of(orderInventory("COMIC_BOOKS", 3), orderInventory("BOOKS", 1)),
+                compensations::countDown
+        ));
+
+        assertTrue(exception.getMessage().contains("[BOOKS]"));
+        assertTrue(compensations.await(5, TimeUnit.SECONDS));
+        verify(orderInventoryRepository).insertAll(anyList());
+    }
+
+    @Test
+    void compensatesReservationsThatCommitAfterTheTimeout() throws Exception {
+        var commitReleased = new CountDownLatch(1);
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap())).thenAnswer(invocation -> {
+            commitReleased.await(5, TimeUnit.SECONDS);
+            return new int[]{1};
+        });
+        var compensations = new AtomicInteger();
+
+        assertThrows(ValidationException.class, () -> engine.reserveAll(
+                List.of(orderInventory("COMIC_BOOKS", 3)),
+                compensations::incrementAndGet
+        ));
+        assertEquals(0, compensations.get());
+
+        commitReleased.countDown();
+        verify(orderInventoryRepository, timeout(5000)).insertAll(anyList());
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(compensations.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, compensations.get());
+    }
+
+    @Test
+    void doesNotCompensateWhenEveryProductIsReserved() {
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap())).thenReturn(new int[]{1});
+        var compensations = new AtomicInteger();
+
+        engine.reserveAll(List.of(orderInventory("COMIC_BOOKS", 3)), compensations::incrementAndGet);
+
+        verify(orderInventoryRepository).insertAll(anyList());
+        assertEquals(0, compensations.get());
+    }
+
+    private Inventory inventory(String productCode, int availableQuantity) {
+        return new Inventory(productCode.length(), productCode, availableQuantity);
+    }
+
+    private OrderInventory orderInventory(String productCode, int quantity) {
+        return OrderInventory
+                .builder()
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .inventory(inventory(productCode, 0))
+                .orderQuantity(quantity)
+                .build();
+    }
+}
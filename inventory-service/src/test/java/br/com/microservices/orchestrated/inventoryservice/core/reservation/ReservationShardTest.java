@@ -0,0 +1,186 @@
+package br.com.microservices.orchestrated.inventoryservice.core.reservation;
+
+import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
+import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationShardTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private OrderInventoryRepository orderInventoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationShard shard;
+    private Thread thread;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        shard = new ReservationShard(
+                inventoryRepository,
+                orderInventoryRepository,
+                new TransactionTemplate(transactionManager),
+                16,
+                50
+        );
+        thread = new Thread(shard, "inventory-reservation-test");
+        thread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shard.stop();
+        thread.join(5000);
+    }
+
+    @Test
+    void writesOrderInventoriesInTheSameTransactionAsTheStock() {
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)));
+        when(inventoryRepository.decreaseAvailableQuantities(Map.of("COMIC_BOOKS", 7))).thenReturn(new int[]{1});
+        var first = ReservationRequest.reserve(orderInventory("order-1", "COMIC_BOOKS", 3));
+        var second = ReservationRequest.reserve(orderInventory("order-2", "COMIC_BOOKS", 4));
+        var outOfStock = ReservationRequest.reserve(orderInventory("order-3", "COMIC_BOOKS", 4));
+
+        process(first, second, outOfStock);
+
+        assertTrue(first.result().join());
+        assertTrue(second.result().join());
+        assertFalse(outOfStock.result().join());
+        var inserted = insertedOrderInventories(1).get(0);
+        assertEquals(List.of("order-1", "order-2"), inserted.stream().map(OrderInventory::getOrderId).toList());
+        assertQuantities(inserted.get(0), 10, 7);
+        assertQuantities(inserted.get(1), 7, 3);
+        var inOrder = inOrder(transactionManager, inventoryRepository, orderInventoryRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(inventoryRepository).decreaseAvailableQuantities(any());
+        inOrder.verify(orderInventoryRepository).insertAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void reloadsConflictingProductsAndKeepsTheSnapshotOfTheOthers() {
+        when(inventoryRepository.findByProductCodeIn(Set.of("BOOKS")))
+                .thenReturn(List.of(inventory("BOOKS", 10)));
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 6)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap()))
+                .thenReturn(new int[]{1})
+                .thenReturn(new int[]{1, 0})
+                .thenReturn(new int[]{1, 1});
+        process(ReservationRequest.reserve(orderInventory("order-0", "BOOKS", 1)));
+        var comicBooks = ReservationRequest.reserve(orderInventory("order-1", "COMIC_BOOKS", 5));
+        var books = ReservationRequest.reserve(orderInventory("order-1", "BOOKS", 2));
+
+        process(comicBooks, books);
+
+        assertTrue(comicBooks.result().join());
+        assertTrue(books.result().join());
+        assertEquals(List.of(false, true, false), rollbackOnlyFlags());
+        var inserted = insertedOrderInventories(2).get(1);
+        assertQuantities(inserted.get(0), 6, 1);
+        assertQuantities(inserted.get(1), 9, 7);
+    }
+
+    @Test
+    void declinesReservationsThatNoLongerFitAfterReloading() {
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 2)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap())).thenReturn(new int[]{0});
+        var request = ReservationRequest.reserve(orderInventory("order-1", "COMIC_BOOKS", 5));
+
+        process(request);
+
+        assertFalse(request.result().join());
+        verify(inventoryRepository).decreaseAvailableQuantities(any());
+        assertEquals(List.of(true), rollbackOnlyFlags());
+        verifyNoInteractions(orderInventoryRepository);
+    }
+
+    @Test
+    void failsTheBatchWithoutKeepingStockWhenTheRowsCannotBeWritten() {
+        when(inventoryRepository.findByProductCodeIn(Set.of("COMIC_BOOKS")))
+                .thenReturn(List.of(inventory("COMIC_BOOKS", 10)));
+        when(inventoryRepository.decreaseAvailableQuantities(anyMap())).thenReturn(new int[]{1});
+        doThrow(new IllegalStateException("database is down")).when(orderInventoryRepository).insertAll(anyList());
+        var request = ReservationRequest.reserve(orderInventory("order-1", "COMIC_BOOKS", 5));
+
+        process(request);
+
+        assertThrows(CompletionException.class, () -> request.result().join());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private void process(ReservationRequest... requests) {
+        for(var request : requests) {
+            shard.submit(request);
+        }
+        for(var request : requests) {
+            request.result().handle((reserved, e) -> reserved).orTimeout(5, TimeUnit.SECONDS).join();
+        }
+    }
+
+    // TransactionTemplate hands a rollback-only status to commit, which the manager turns into a rollback
+    private List<Boolean> rollbackOnlyFlags() {
+        var captor = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager, atLeastOnce()).commit(captor.capture());
+        return captor.getAllValues().stream().map(TransactionStatus::isRollbackOnly).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<OrderInventory>> insertedOrderInventories(int batches) {
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(orderInventoryRepository, times(batches)).insertAll(captor.capture());
+        return (List<List<OrderInventory>>) (List<?>) captor.getAllValues();
+    }
+
+    private void assertQuantities(OrderInventory orderInventory, int oldQuantity, int newQuantity) {
+        assertEquals(oldQuantity, orderInventory.getOldQuantityAvailable());
+        assertEquals(newQuantity, orderInventory.getNewQuantityAvailable());
+    }
+
+    private Inventory inventory(String productCode, int availableQuantity) {
+        return new Inventory(productCode.length(), productCode, availableQuantity);
+    }
+
+    private OrderInventory orderInventory(String orderId, String productCode, int quantity) {
+        return OrderInventory
+                .builder()
+                .orderId(orderId)
+                .transactionId("transaction-" + orderId)
+                .inventory(inventory(productCode, 0))
+                .orderQuantity(quantity)
+                .build();
+    }
+}
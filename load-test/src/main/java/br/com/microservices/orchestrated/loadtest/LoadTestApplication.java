@@ -0,0 +1,131 @@
+package br.com.microservices.orchestrated.loadtest;
+
+import br.com.microservices.orchestrated.loadtest.config.EmbeddedInfrastructure;
+import br.com.microservices.orchestrated.loadtest.config.LoadTestProperties;
+import br.com.microservices.orchestrated.loadtest.core.consumer.SagaBusCompletionConsumer;
+import br.com.microservices.orchestrated.loadtest.core.consumer.SagaCompletionConsumer;
+import br.com.microservices.orchestrated.loadtest.core.context.ServiceContext;
+import br.com.microservices.orchestrated.loadtest.core.enums.EService;
+import br.com.microservices.orchestrated.loadtest.core.generator.OpenLoopOrderGenerator;
+import br.com.microservices.orchestrated.loadtest.core.recorder.LatencyRecorder;
+import br.com.microservices.orchestrated.loadtest.core.recorder.SagaRegistry;
+import br.com.microservices.orchestrated.loadtest.core.report.LoadTestReport;
+import br.com.microservices.orchestrated.sagabus.SagaBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String ORDER_SERVICE_URL = "http://localhost:%s";
+    private static final String ORDER_URI = ORDER_SERVICE_URL.concat("/api/order");
+    private static final long DRAIN_POLL_MILLIS = 100;
+
+    public static void main(String[] args) throws Exception {
+        var properties = LoadTestProperties.fromSystemProperties();
+        var objectMapper = new ObjectMapper();
+        var recorder = new LatencyRecorder();
+        var registry = new SagaRegistry(recorder);
+        var services = new LinkedList<ServiceContext>();
+        try(var infrastructure = new EmbeddedInfrastructure(!properties.inProcess())) {
+            infrastructure.start();
+            try {
+                for(var service : EService.values()) {
+                    services.push(ServiceContext.start(service, arguments(service, services, infrastructure, properties)));
+                }
+                restockInventory(infrastructure, properties);
+                var orderUri = URI.create(String.format(ORDER_URI, orderService(services).getProperty("local.server.port")));
+                try(var ignored = completionConsumer(infrastructure, properties, registry, objectMapper)) {
+                    new OpenLoopOrderGenerator(properties, HttpClient.newHttpClient(), orderUri, objectMapper, registry, recorder).run();
+                    drain(registry, properties);
+                }
+                log.info("Load test report written to {}.", new LoadTestReport(properties, registry, recorder).write());
+            } finally {
+                for(var service : services) {
+                    service.close();
+                }
+            }
+        }
+    }
+
+    private static List<String> arguments(EService service,
+                                          List<ServiceContext> services,
+                                          EmbeddedInfrastructure infrastructure,
+                                          LoadTestProperties properties) throws ReflectiveOperationException {
+        var arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--saga.transport.type=" + properties.transport(),
+                "--saga.transport.in-process.buffer-size=" + properties.busBufferSize(),
+                "--management.tracing.enabled=" + properties.tracingEnabled(),
+                "--logging.level.root=" + properties.serviceLogLevel()
+        ));
+        if(!properties.inProcess()) {
+            arguments.add("--spring.kafka.bootstrap-servers=" + infrastructure.getKafkaBrokers());
+            arguments.add("--spring.kafka.consumer.auto-offset-reset=earliest");
+        }
+        if(!service.isWeb()) {
+            arguments.add("--spring.main.web-application-type=none");
+        }
+        if(service.getDatabase() != null) {
+            arguments.add("--spring.datasource.url=" + infrastructure.getJdbcUrl(service.getDatabase()));
+        }
+        if(EService.INVENTORY.equals(service)) {
+            arguments.add("--inventory.reservation.engine-enabled=" + properties.inventoryReservationEngine());
+        }
+        if(EService.ORDER.equals(service)) {
+            arguments.add("--spring.data.mongodb.uri=" + infrastructure.getMongoUri());
+            arguments.add("--spring.data.mongodb.database=" + EmbeddedInfrastructure.ORDER_DATABASE);
+            arguments.add("--saga.claim-check.threshold-products=" + properties.claimCheckThreshold());
+        } else {
+            arguments.add("--saga.claim-check.order-service-url="
+                    + String.format(ORDER_SERVICE_URL, orderService(services).getProperty("local.server.port")));
+        }
+        return arguments;
+    }
+
+    private static AutoCloseable completionConsumer(EmbeddedInfrastructure infrastructure,
+                                                    LoadTestProperties properties,
+                                                    SagaRegistry registry,
+                                                    ObjectMapper objectMapper) {
+        if(properties.inProcess()) {
+            return new SagaBusCompletionConsumer(SagaBus.shared(properties.busBufferSize()),
+                    EmbeddedInfrastructure.NOTIFY_ENDING_TOPIC, registry, objectMapper);
+        }
+        return new SagaCompletionConsumer(infrastructure.getKafkaBrokers(),
+                EmbeddedInfrastructure.NOTIFY_ENDING_TOPIC, registry, objectMapper);
+    }
+
+    private static void restockInventory(EmbeddedInfrastructure infrastructure, LoadTestProperties properties) throws SQLException {
+        try(var connection = infrastructure.getDataSource(EService.INVENTORY.getDatabase()).getConnection();
+            var statement = connection.prepareStatement("UPDATE inventory SET available_quantity = ?")) {
+            statement.setInt(1, properties.inventoryQuantity());
+            log.info("Restocked {} inventory rows to {} units.", statement.executeUpdate(), properties.inventoryQuantity());
+        }
+    }
+
+    private static ServiceContext orderService(List<ServiceContext> services) {
+        return services.stream()
+                .filter(context -> EService.ORDER.equals(context.getService()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void drain(SagaRegistry registry, LoadTestProperties properties) throws InterruptedException {
+        var deadline = System.nanoTime() + properties.drainTimeout().toNanos();
+        while(registry.getOutstanding() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MILLIS);
+        }
+        if(registry.getOutstanding() > 0) {
+            log.warn("{} sagas did not finish within {}.", registry.getOutstanding(), properties.drainTimeout());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.microservices.orchestrated.loadtest.config;
+
+import br.com.microservices.orchestrated.loadtest.core.enums.EService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    public static final String NOTIFY_ENDING_TOPIC = "notify-ending";
+    public static final String ORDER_DATABASE = "order-db";
+
+    private static final String[] TOPICS = {
+            "start-saga",
+            "orchestrator",
+            "finish-success",
+            "finish-fail",
+            "product-validation-success",
+            "product-validation-fail",
+            "payment-success",
+            "payment-fail",
+            "inventory-success",
+            "inventory-fail",
+            "saga-history",
+            NOTIFY_ENDING_TOPIC
+    };
+    private static final String DATABASE_USER = "postgres";
+
+    private final boolean kafkaEnabled;
+    private EmbeddedKafkaBroker kafka;
+    private EmbeddedPostgres postgres;
+    private MongoServer mongo;
+
+    public void start() throws IOException, SQLException {
+        if(kafkaEnabled) {
+            kafka = new EmbeddedKafkaBroker(1, false, 1, TOPICS);
+            kafka.afterPropertiesSet();
+            log.info("Embedded Kafka started at {}.", getKafkaBrokers());
+        }
+        postgres = EmbeddedPostgres.builder().start();
+        createDatabases();
+        log.info("Embedded Postgres started on port {}.", postgres.getPort());
+        mongo = new MongoServer(new MemoryBackend());
+        mongo.bind();
+        log.info("In-memory MongoDB started at {}.", getMongoUri());
+    }
+
+    public String getKafkaBrokers() {
+        return kafka.getBrokersAsString();
+    }
+
+    public String getJdbcUrl(String database) {
+        return String.format("jdbc:postgresql://localhost:%d/%s?reWriteBatchedInserts=true", postgres.getPort(), database);
+    }
+
+    public DataSource getDataSource(String database) {
+        return postgres.getDatabase(DATABASE_USER, database);
+    }
+
+    public String getMongoUri() {
+        var address = mongo.getLocalAddress();
+        return String.format("mongodb://%s:%d", address.getHostString(), address.getPort());
+    }
+
+    private void createDatabases() throws SQLException {
+        try(var connection = postgres.getPostgresDatabase().getConnection();
+            var statement = connection.createStatement()) {
+            for(var service : EService.values()) {
+                if(service.getDatabase() != null) {
+                    statement.execute(String.format("CREATE DATABASE \"%s\"", service.getDatabase()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(mongo != null) {
+            mongo.shutdown();
+        }
+        if(postgres != null) {
+            postgres.close();
+        }
+        if(kafka != null) {
+            kafka.destroy();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.microservices.orchestrated.loadtest.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public record LoadTestProperties(String transport,
+                                 int busBufferSize,
+                                 double ratePerSecond,
+                                 Duration warmup,
+                                 Duration duration,
+                                 Duration drainTimeout,
+                                 int productsPerOrder,
+                                 int claimCheckThreshold,
+                                 int inventoryQuantity,
+                                 boolean inventoryReservationEngine,
+                                 boolean tracingEnabled,
+                                 String serviceLogLevel,
+                                 Path reportDirectory) {
+
+    public static final String KAFKA_TRANSPORT = "kafka";
+    public static final String IN_PROCESS_TRANSPORT = "in-process";
+
+    public LoadTestProperties {
+        if(!KAFKA_TRANSPORT.equals(transport) && !IN_PROCESS_TRANSPORT.equals(transport)) {
+            throw new IllegalArgumentException(String.format("Transport must be %s or %s, got %s.",
+                    KAFKA_TRANSPORT, IN_PROCESS_TRANSPORT, transport));
+        }
+        if(ratePerSecond <= 0) {
+            throw new IllegalArgumentException(String.format("Arrival rate must be positive, got %s.", ratePerSecond));
+        }
+        if(productsPerOrder < 1) {
+            throw new IllegalArgumentException(String.format("Products per order must be at least 1, got %s.", productsPerOrder));
+        }
+    }
+
+    public static LoadTestProperties fromSystemProperties() {
+        return new LoadTestProperties(
+                System.getProperty("loadtest.transport", KAFKA_TRANSPORT),
+                Integer.getInteger("loadtest.bus-buffer-size", 4096),
+                Double.parseDouble(System.getProperty("loadtest.rate", "50")),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Duration.ofSeconds(Long.getLong("loadtest.drain-timeout-seconds", 30)),
+                Integer.getInteger("loadtest.products-per-order", 1),
+                Integer.getInteger("loadtest.claim-check-threshold", 100),
+                Integer.getInteger("loadtest.inventory-quantity", 1_000_000),
+                Boolean.getBoolean("loadtest.inventory-reservation-engine"),
+                Boolean.getBoolean("loadtest.tracing-enabled"),
+                System.getProperty("loadtest.service-log-level", "WARN"),
+                Path.of(System.getProperty("loadtest.report-directory", "build/reports/load-test"))
+        );
+    }
+
+    public boolean inProcess() {
+        return IN_PROCESS_TRANSPORT.equals(transport);
+    }
+
+    public long intervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    }
+}
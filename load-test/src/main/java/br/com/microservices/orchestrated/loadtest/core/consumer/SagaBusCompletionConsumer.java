@@ -0,0 +1,31 @@
+package br.com.microservices.orchestrated.loadtest.core.consumer;
+
+import br.com.microservices.orchestrated.loadtest.core.recorder.SagaRegistry;
+import br.com.microservices.orchestrated.sagabus.SagaBus;
+import br.com.microservices.orchestrated.sagabus.Subscription;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class SagaBusCompletionConsumer implements AutoCloseable {
+
+    private static final String GROUP_ID = "load-test-group";
+
+    private final Subscription subscription;
+
+    public SagaBusCompletionConsumer(SagaBus sagaBus, String topic, SagaRegistry registry, ObjectMapper objectMapper) {
+        this.subscription = sagaBus.subscribe(topic, GROUP_ID, (sequence, message) -> {
+            var finishedAt = System.nanoTime();
+            try {
+                var event = objectMapper.readTree((String) message);
+                registry.onFinished(event.path("orderId").asText(), event, finishedAt);
+            } catch(JsonProcessingException e) {
+                throw new IllegalStateException("Could not read saga completion.", e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        subscription.close();
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.microservices.orchestrated.loadtest.core.consumer;
+
+import br.com.microservices.orchestrated.loadtest.core.recorder.SagaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Factory;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class SagaCompletionConsumer implements AutoCloseable {
+
+    private static final String GROUP_ID = "load-test-group";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final String CODEC_HEADER = "saga-codec";
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+    private static final int MAX_DECODED_BYTES = 8 * 1024 * 1024;
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final SagaRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final Thread thread;
+
+    public SagaCompletionConsumer(String bootstrapServers, String topic, SagaRegistry registry, ObjectMapper objectMapper) {
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, GROUP_ID,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"
+        ), new StringDeserializer(), new ByteArrayDeserializer());
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.consumer.subscribe(List.of(topic));
+        this.thread = new Thread(this::poll, "saga-completion-consumer");
+        this.thread.start();
+    }
+
+    private void poll() {
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                for(var record : consumer.poll(POLL_TIMEOUT)) {
+                    var finishedAt = System.nanoTime();
+                    try {
+                        var event = objectMapper.readTree(decode(record));
+                        registry.onFinished(event.path("orderId").asText(), event, finishedAt);
+                    } catch(Exception e) {
+                        log.warn("Could not read saga completion: {}", e.getMessage());
+                    }
+                }
+            }
+        } catch(WakeupException e) {
+            log.debug("Saga completion consumer woken up for shutdown.");
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private static byte[] decode(ConsumerRecord<String, byte[]> record) {
+        if(record.headers().lastHeader(CODEC_HEADER) == null) {
+            return record.value();
+        }
+        var data = record.value();
+        var length = data.length < LENGTH_PREFIX_BYTES ? -1 : ByteBuffer.wrap(data).getInt();
+        if(length < 0 || length > MAX_DECODED_BYTES) {
+            throw new IllegalStateException(String.format("Invalid compressed saga completion length %s.", length));
+        }
+        var decompressed = new byte[length];
+        var decodedLength = LZ4_FACTORY
+                .safeDecompressor()
+                .decompress(data, LENGTH_PREFIX_BYTES, data.length - LENGTH_PREFIX_BYTES, decompressed, 0);
+        if(decodedLength != length) {
+            throw new IllegalStateException(String.format("Compressed saga completion declares %s bytes but decodes to %s.", length, decodedLength));
+        }
+        return decompressed;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        consumer.wakeup();
+        thread.join();
+    }
+}
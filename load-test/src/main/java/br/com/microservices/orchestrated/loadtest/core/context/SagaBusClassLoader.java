@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.loadtest.core.context;
+
+public class SagaBusClassLoader extends ClassLoader {
+    private static final String SAGA_BUS_PACKAGE = "br.com.microservices.orchestrated.sagabus.";
+
+    private final ClassLoader applicationClassLoader;
+
+    public SagaBusClassLoader(ClassLoader applicationClassLoader) {
+        super("saga-bus", ClassLoader.getPlatformClassLoader());
+        this.applicationClassLoader = applicationClassLoader;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if(name.startsWith(SAGA_BUS_PACKAGE)) {
+            return applicationClassLoader.loadClass(name);
+        }
+        return super.loadClass(name, resolve);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.microservices.orchestrated.loadtest.core.context;
+
+import br.com.microservices.orchestrated.loadtest.core.enums.EService;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ServiceContext implements AutoCloseable {
+
+    private static final String CLASSPATH_PROPERTY = "loadtest.classpath.%s";
+    private static final String SPRING_APPLICATION = "org.springframework.boot.SpringApplication";
+    private static final String APPLICATION_CONTEXT = "org.springframework.context.ConfigurableApplicationContext";
+    private static final String PROPERTY_RESOLVER = "org.springframework.core.env.PropertyResolver";
+    private static final ClassLoader SHARED_CLASS_LOADER = new SagaBusClassLoader(ServiceContext.class.getClassLoader());
+
+    @Getter
+    private final EService service;
+    private final URLClassLoader classLoader;
+    private final AutoCloseable context;
+
+    public static ServiceContext start(EService service, List<String> arguments) throws Exception {
+        var classLoader = new URLClassLoader(service.getServiceName(), classpath(service), SHARED_CLASS_LOADER);
+        var thread = Thread.currentThread();
+        var previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            var application = classLoader.loadClass(service.getMainClass());
+            var context = classLoader.loadClass(SPRING_APPLICATION)
+                    .getMethod("run", Class.class, String[].class)
+                    .invoke(null, application, arguments.toArray(String[]::new));
+            log.info("Started {} in its own class loader.", service.getServiceName());
+            return new ServiceContext(service, classLoader, (AutoCloseable) context);
+        } catch(InvocationTargetException e) {
+            classLoader.close();
+            throw new IllegalStateException(String.format("Could not start %s.", service.getServiceName()), e.getCause());
+        } catch(Exception e) {
+            classLoader.close();
+            throw e;
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    public String getProperty(String key) throws ReflectiveOperationException {
+        var environment = classLoader.loadClass(APPLICATION_CONTEXT)
+                .getMethod("getEnvironment")
+                .invoke(context);
+        return (String) classLoader.loadClass(PROPERTY_RESOLVER)
+                .getMethod("getProperty", String.class)
+                .invoke(environment, key);
+    }
+
+    private static URL[] classpath(EService service) throws MalformedURLException {
+        var classpath = System.getProperty(String.format(CLASSPATH_PROPERTY, service.getServiceName()));
+        if(classpath == null || classpath.isBlank()) {
+            throw new IllegalStateException(String.format(
+                    "No classpath for %s, start the load test through the gradle run task.", service.getServiceName()));
+        }
+        var urls = new ArrayList<URL>();
+        for(var entry : classpath.split(File.pathSeparator)) {
+            urls.add(Path.of(entry).toUri().toURL());
+        }
+        return urls.toArray(URL[]::new);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            context.close();
+        } finally {
+            classLoader.close();
+        }
+    }
+}
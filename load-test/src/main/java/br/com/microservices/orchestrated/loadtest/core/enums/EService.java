@@ -0,0 +1,24 @@
+package br.com.microservices.orchestrated.loadtest.core.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EService {
+    ORDER("order-service",
+            "br.com.microservices.orchestrated.orderservice.OrderServiceApplication", true, null),
+    ORCHESTRATOR("orchestrator-service",
+            "br.com.microservices.orchestrated.orchestratorservice.OrchestratorServiceApplication", false, null),
+    PRODUCT_VALIDATION("product-validation-service",
+            "br.com.microservices.orchestrated.productvalidationservice.ProductValidationServiceApplication", false, "product-db"),
+    PAYMENT("payment-service",
+            "br.com.microservices.orchestrated.paymentservice.PaymentServiceApplication", false, "payment-db"),
+    INVENTORY("inventory-service",
+            "br.com.microservices.orchestrated.inventoryservice.InventoryServiceApplication", false, "inventory-db");
+
+    private final String serviceName;
+    private final String mainClass;
+    private final boolean web;
+    private final String database;
+}
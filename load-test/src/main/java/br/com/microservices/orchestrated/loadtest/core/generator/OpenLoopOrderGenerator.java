@@ -0,0 +1,95 @@
+package br.com.microservices.orchestrated.loadtest.core.generator;
+
+import br.com.microservices.orchestrated.loadtest.config.LoadTestProperties;
+import br.com.microservices.orchestrated.loadtest.core.recorder.LatencyRecorder;
+import br.com.microservices.orchestrated.loadtest.core.recorder.SagaRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@RequiredArgsConstructor
+public class OpenLoopOrderGenerator {
+
+    private static final List<String> PRODUCT_CODES = List.of("COMIC_BOOK", "BOOK", "MOVIE", "MUSIC");
+    private static final BigDecimal UNIT_VALUE = new BigDecimal("10.50");
+
+    private final LoadTestProperties properties;
+    private final HttpClient httpClient;
+    private final URI orderUri;
+    private final ObjectMapper objectMapper;
+    private final SagaRegistry registry;
+    private final LatencyRecorder recorder;
+
+    public void run() throws JsonProcessingException {
+        var interval = properties.intervalNanos();
+        var start = System.nanoTime();
+        var measureFrom = start + properties.warmup().toNanos();
+        var end = measureFrom + properties.duration().toNanos();
+        log.info("Sending orders at {}/s: {} warm-up, {} measured.",
+                properties.ratePerSecond(), properties.warmup(), properties.duration());
+        var sequence = 0L;
+        for(var intendedStart = start; intendedStart < end; intendedStart = start + sequence * interval) {
+            waitUntil(intendedStart);
+            var measured = intendedStart >= measureFrom;
+            if(measured) {
+                recorder.recordGeneratorLag(System.nanoTime() - intendedStart);
+            }
+            send(sequence++, intendedStart, measured);
+        }
+        log.info("Sent {} orders, {} of them measured.", registry.getSent(), registry.getMeasured());
+    }
+
+    private void send(long sequence, long intendedStart, boolean measured) throws JsonProcessingException {
+        var request = HttpRequest.newBuilder(orderUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(orderRequest(sequence))))
+                .build();
+        registry.onSent(measured);
+        var sentAt = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    var acceptedAt = System.nanoTime();
+                    if(error != null || response.statusCode() != 200) {
+                        log.warn("Order {} was rejected: {}", sequence, error != null ? error.getMessage() : response.body());
+                        registry.onRejected();
+                        return;
+                    }
+                    try {
+                        var orderId = objectMapper.readTree(response.body()).path("id").asText();
+                        registry.onAccepted(orderId, intendedStart, sentAt, acceptedAt, measured);
+                    } catch(Exception e) {
+                        log.warn("Could not read the response for order {}: {}", sequence, e.getMessage());
+                        registry.onRejected();
+                    }
+                });
+    }
+
+    private Map<String, Object> orderRequest(long sequence) {
+        var products = new ArrayList<Map<String, Object>>();
+        for(var i = 0; i < properties.productsPerOrder(); i++) {
+            var code = PRODUCT_CODES.get((int) ((sequence + i) % PRODUCT_CODES.size()));
+            products.add(Map.of("product", Map.of("code", code, "unitValue", UNIT_VALUE), "quantity", 1));
+        }
+        return Map.of("products", products);
+    }
+
+    private void waitUntil(long deadline) {
+        var remaining = deadline - System.nanoTime();
+        while(remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
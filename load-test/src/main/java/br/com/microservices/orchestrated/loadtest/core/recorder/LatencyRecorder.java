@@ -0,0 +1,78 @@
+package br.com.microservices.orchestrated.loadtest.core.recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyRecorder {
+
+    public static final String END_TO_END = "end-to-end";
+    public static final String SERVICE_TIME = "service-time";
+    public static final String ORDER_ACCEPTED = "order-accepted";
+
+    private static final String OUTCOME_END_TO_END = "end-to-end.%s";
+    private static final String STEP = "step.%s";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong maxGeneratorLagNanos = new AtomicLong();
+
+    public void recordGeneratorLag(long lagNanos) {
+        maxGeneratorLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    public void recordSaga(SagaTracker tracker) {
+        var event = tracker.getFinalEvent();
+        var status = event.path("status").asText();
+        outcomes.computeIfAbsent(status, key -> new LongAdder()).increment();
+        record(ORDER_ACCEPTED, tracker.getAcceptedNanos() - tracker.getIntendedStartNanos());
+        record(END_TO_END, tracker.getFinishedNanos() - tracker.getIntendedStartNanos());
+        record(String.format(OUTCOME_END_TO_END, status), tracker.getFinishedNanos() - tracker.getIntendedStartNanos());
+        record(SERVICE_TIME, tracker.getFinishedNanos() - tracker.getSentNanos());
+        recordSteps(event.path("eventHistory"));
+    }
+
+    public Map<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public Map<String, Long> getOutcomes() {
+        var counts = new TreeMap<String, Long>();
+        outcomes.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public long getMaxGeneratorLagNanos() {
+        return maxGeneratorLagNanos.get();
+    }
+
+    private void recordSteps(JsonNode history) {
+        LocalDateTime previous = null;
+        for(var entry : history) {
+            var createdAt = LocalDateTime.parse(entry.path("createdAt").asText());
+            if(previous != null) {
+                record(String.format(STEP, entry.path("step").asText()),
+                        Duration.between(previous, createdAt).toNanos());
+            }
+            previous = createdAt;
+        }
+    }
+
+    private void record(String name, long nanos) {
+        var micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), HIGHEST_TRACKABLE_MICROS);
+        histograms
+                .computeIfAbsent(name, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS))
+                .recordValue(micros);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.microservices.orchestrated.loadtest.core.recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@RequiredArgsConstructor
+public class SagaRegistry {
+
+    private final LatencyRecorder recorder;
+    private final Map<String, SagaTracker> trackers = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder measured = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    public void onSent(boolean measured) {
+        sent.increment();
+        if(measured) {
+            this.measured.increment();
+        }
+    }
+
+    public void onRejected() {
+        rejected.increment();
+    }
+
+    public void onAccepted(String orderId, long intendedStartNanos, long sentNanos, long acceptedNanos, boolean measured) {
+        var tracker = trackers.computeIfAbsent(orderId, id -> new SagaTracker());
+        if(tracker.accept(intendedStartNanos, sentNanos, acceptedNanos, measured)) {
+            complete(orderId, tracker);
+        }
+    }
+
+    public void onFinished(String orderId, JsonNode finalEvent, long finishedNanos) {
+        var tracker = trackers.computeIfAbsent(orderId, id -> new SagaTracker());
+        if(tracker.finish(finalEvent, finishedNanos)) {
+            complete(orderId, tracker);
+        }
+    }
+
+    public long getOutstanding() {
+        return sent.sum() - rejected.sum() - completed.sum();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getMeasured() {
+        return measured.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    private void complete(String orderId, SagaTracker tracker) {
+        trackers.remove(orderId);
+        completed.increment();
+        if(tracker.isMeasured()) {
+            recorder.recordSaga(tracker);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.microservices.orchestrated.loadtest.core.recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+@Getter
+public class SagaTracker {
+
+    private long intendedStartNanos;
+    private long sentNanos;
+    private long acceptedNanos;
+    private boolean measured;
+    private boolean accepted;
+    private JsonNode finalEvent;
+    private long finishedNanos;
+
+    public synchronized boolean accept(long intendedStartNanos, long sentNanos, long acceptedNanos, boolean measured) {
+        this.intendedStartNanos = intendedStartNanos;
+        this.sentNanos = sentNanos;
+        this.acceptedNanos = acceptedNanos;
+        this.measured = measured;
+        this.accepted = true;
+        return finalEvent != null;
+    }
+
+    public synchronized boolean finish(JsonNode finalEvent, long finishedNanos) {
+        this.finalEvent = finalEvent;
+        this.finishedNanos = finishedNanos;
+        return accepted;
+    }
+}
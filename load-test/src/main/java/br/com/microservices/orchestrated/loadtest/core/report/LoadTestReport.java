@@ -0,0 +1,88 @@
+package br.com.microservices.orchestrated.loadtest.core.report;
+
+import br.com.microservices.orchestrated.loadtest.config.LoadTestProperties;
+import br.com.microservices.orchestrated.loadtest.core.recorder.LatencyRecorder;
+import br.com.microservices.orchestrated.loadtest.core.recorder.SagaRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTestReport {
+
+    private static final String REPORT_FILE = "report.properties";
+    private static final String HISTOGRAM_FILE = "%s.hgrm";
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final Map<String, Double> PERCENTILES = new TreeMap<>(Map.of("p50", 50.0, "p90", 90.0, "p99", 99.0, "p99.9", 99.9));
+
+    private final LoadTestProperties properties;
+    private final SagaRegistry registry;
+    private final LatencyRecorder recorder;
+
+    public Path write() throws IOException {
+        var directory = properties.reportDirectory();
+        Files.createDirectories(directory);
+        var lines = lines();
+        var report = directory.resolve(REPORT_FILE);
+        Files.write(report, lines);
+        for(var entry : recorder.getHistograms().entrySet()) {
+            try(var out = new PrintStream(Files.newOutputStream(directory.resolve(String.format(HISTOGRAM_FILE, entry.getKey()))))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        lines.forEach(log::info);
+        return report;
+    }
+
+    private List<String> lines() {
+        var lines = new ArrayList<String>();
+        var measuredSeconds = properties.duration().toMillis() / 1000.0;
+        lines.add(line("config.transport", properties.transport()));
+        lines.add(line("config.rate.per.second", format(properties.ratePerSecond())));
+        lines.add(line("config.warmup.seconds", properties.warmup().toSeconds()));
+        lines.add(line("config.duration.seconds", properties.duration().toSeconds()));
+        lines.add(line("config.products.per.order", properties.productsPerOrder()));
+        lines.add(line("config.inventory.reservation.engine", properties.inventoryReservationEngine()));
+        lines.add(line("sagas.sent", registry.getSent()));
+        lines.add(line("sagas.measured", registry.getMeasured()));
+        lines.add(line("sagas.rejected", registry.getRejected()));
+        lines.add(line("sagas.completed", registry.getCompleted()));
+        lines.add(line("sagas.unfinished", registry.getOutstanding()));
+        recorder.getOutcomes().forEach((status, count) -> lines.add(line("sagas.outcome." + status, count)));
+        var endToEnd = recorder.getHistograms().get(LatencyRecorder.END_TO_END);
+        var measuredCompleted = endToEnd == null ? 0 : endToEnd.getTotalCount();
+        lines.add(line("throughput.completed.per.second", format(measuredCompleted / measuredSeconds)));
+        lines.add(line("generator.max.lag.ms", format(TimeUnit.NANOSECONDS.toMicros(recorder.getMaxGeneratorLagNanos()) / MICROS_PER_MILLI)));
+        recorder.getHistograms().forEach((name, histogram) -> addLatency(lines, name, histogram));
+        return lines;
+    }
+
+    private void addLatency(List<String> lines, String name, Histogram histogram) {
+        var prefix = "latency." + name;
+        lines.add(line(prefix + ".count", histogram.getTotalCount()));
+        lines.add(line(prefix + ".mean.ms", format(histogram.getMean() / MICROS_PER_MILLI)));
+        PERCENTILES.forEach((label, percentile) -> lines.add(line(prefix + "." + label + ".ms",
+                format(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI))));
+        lines.add(line(prefix + ".max.ms", format(histogram.getMaxValue() / MICROS_PER_MILLI)));
+    }
+
+    private String line(String key, Object value) {
+        return key + "=" + value;
+    }
+
+    private String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.microservices.orchestrated.orchestratorservice.benchmark;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Order;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SagaExecutionControllerBenchmark {
+
+    private SagaExecutionController controller;
+    private Event[] events;
+
+    @Setup
+    public void setup() {
+        controller = new SagaExecutionController();
+        var order = new Order();
+        order.setId("64429e987a8b646915b37360");
+        events = Arrays
+                .stream(SAGA_HANDLER)
+                .map(row -> Event
+                        .builder()
+                        .id("64429e9a7a8b646915b37361")
+                        .transactionId("1682087576536_99d2ca6c-f074-41a6-92e0-21700148b519")
+                        .payload(order)
+                        .source((EEventSource) row[EVENT_SOURCE_INDEX])
+                        .status((ESagaStatus) row[SAGA_STATUS_INDEX])
+                        .build())
+                .toArray(Event[]::new);
+    }
+
+    @Benchmark
+    public void getNextTopic(Blackhole blackhole) {
+        for(var event : events) {
+            blackhole.consume(controller.getNextTopic(event));
+        }
+    }
+}
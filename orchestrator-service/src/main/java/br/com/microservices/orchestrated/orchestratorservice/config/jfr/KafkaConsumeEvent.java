@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.microservices.orchestrated.KafkaConsume")
+@Label("Kafka Consume")
+@Category({"Saga", "Kafka"})
+@Description("Events handled by a Kafka listener")
+@StackTrace(false)
+public class KafkaConsumeEvent extends Event {
+
+    @Label("Topic")
+    private String topic;
+
+    @Label("Records")
+    private int records;
+
+    @Label("Payload Length")
+    private long payloadLength;
+
+    public void complete(String topic, int records, long payloadLength) {
+        end();
+        if(shouldCommit()) {
+            this.topic = topic;
+            this.records = records;
+            this.payloadLength = payloadLength;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.microservices.orchestrated.KafkaPublish")
+@Label("Kafka Publish")
+@Category({"Saga", "Kafka"})
+@Description("Events handed to the Kafka producer")
+@StackTrace(false)
+public class KafkaPublishEvent extends Event {
+
+    @Label("Topic")
+    private String topic;
+
+    @Label("Records")
+    private int records;
+
+    @Label("Payload Length")
+    private long payloadLength;
+
+    public void complete(String topic, int records, long payloadLength) {
+        end();
+        if(shouldCommit()) {
+            this.topic = topic;
+            this.records = records;
+            this.payloadLength = payloadLength;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.microservices.orchestrated.SagaStep")
+@Label("Saga Step")
+@Category({"Saga", "Step"})
+@Description("Execution of a saga step by a service method")
+@StackTrace(false)
+public class SagaStepEvent extends Event {
+
+    @Label("Step")
+    private String step;
+
+    @Label("Source")
+    private String source;
+
+    @Label("Status")
+    private String status;
+
+    @Label("Transaction ID")
+    private String transactionId;
+
+    public void complete(String step, String source, String status, String transactionId) {
+        end();
+        if(shouldCommit()) {
+            this.step = step;
+            this.source = source;
+            this.status = status;
+            this.transactionId = transactionId;
+            commit();
+        }
+    }
+}
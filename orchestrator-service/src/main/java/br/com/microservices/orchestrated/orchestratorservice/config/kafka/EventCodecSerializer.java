@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+@RequiredArgsConstructor
+public class EventCodecSerializer implements Serializer<String> {
+    private final EventCodec eventCodec;
+
+    @Override
+    public byte[] serialize(String topic, String data) {
+        return eventCodec.encode(null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, String data) {
+        return eventCodec.encode(headers, data);
+    }
+}
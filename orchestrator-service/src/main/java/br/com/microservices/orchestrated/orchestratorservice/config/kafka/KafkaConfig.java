@@ -1,5 +1,6 @@
 package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -10,8 +11,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,16 +27,47 @@ import static br.com.microservices.orchestrated.orchestratorservice.core.enums.E
 public class KafkaConfig {
     private final static Integer REPLICAS_COUNT = 1;
     private final static Integer PARTITION_COUNT = 1;
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
+    @Value("${spring.kafka.listener.observation-enabled}")
+    private boolean listenerObservationEnabled;
+    @Value("${saga.compression.enabled}")
+    private boolean compressionEnabled;
+    @Value("${saga.compression.threshold-bytes}")
+    private int compressionThresholdBytes;
+    @Value("${saga.compression.max-decoded-bytes}")
+    private int compressionMaxDecodedBytes;
+
+    @Bean
+    public EventCodec eventCodec() {
+        return new EventCodec(compressionEnabled, compressionThresholdBytes, compressionMaxDecodedBytes, meterRegistry);
+    }
 
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(consumerProps());
+        var consumerFactory = new DefaultKafkaConsumerFactory<>(
+                consumerProps(),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new EventCodecDeserializer(eventCodec()))
+        );
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
+        var listenerContainerFactory = new ConcurrentKafkaListenerContainerFactory<String, String>();
+        listenerContainerFactory.setConsumerFactory(consumerFactory);
+        listenerContainerFactory.getContainerProperties().setObservationEnabled(listenerObservationEnabled);
+        return listenerContainerFactory;
     }
 
     private Map<String, Object> consumerProps() {
@@ -41,29 +75,33 @@ public class KafkaConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
 
         return props;
     }
 
     @Bean
     public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProps());
+        var producerFactory = new DefaultKafkaProducerFactory<>(
+                producerProps(),
+                new StringSerializer(),
+                new EventCodecSerializer(eventCodec())
+        );
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
     }
 
     private Map<String, Object> producerProps() {
         var props = new HashMap<String, Object>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
 
         return props;
     }
 
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
-        return new KafkaTemplate<>(producerFactory);
+        var kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
     }
 
     private NewTopic buildTopic(String topicName) {
@@ -128,4 +166,9 @@ public class KafkaConfig {
     public NewTopic notifyEnding() {
         return buildTopic(NOTIFY_ENDING.getTopic());
     }
+
+    @Bean
+    public NewTopic sagaHistory() {
+        return buildTopic(SAGA_HISTORY.getTopic());
+    }
 }
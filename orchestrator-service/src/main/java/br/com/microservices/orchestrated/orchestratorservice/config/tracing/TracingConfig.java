@@ -0,0 +1,16 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.tracing;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @Profile("tracing-logging")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -2,6 +2,7 @@ package br.com.microservices.orchestrated.orchestratorservice.core.consumer;
 
 import br.com.microservices.orchestrated.orchestratorservice.core.service.OrchestratorService;
 import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,6 +15,7 @@ public class OrchestratrorSagaConsumer {
     private final JsonUtil jsonUtil;
     private final OrchestratorService orchestratorService;
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.start-saga}"
@@ -24,6 +26,7 @@ public class OrchestratrorSagaConsumer {
         orchestratorService.startSaga(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.orchestrator}"
@@ -34,6 +37,7 @@ public class OrchestratrorSagaConsumer {
         orchestratorService.continueSaga(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.finish-success}"
@@ -44,6 +48,7 @@ public class OrchestratrorSagaConsumer {
         orchestratorService.finishSagaSuccess(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.finish-fail}"
@@ -33,4 +33,14 @@ public class Event {
         }
         eventHistory.add(history);
     }
+
+    public List<History> trimEventHistory(int maxEntries) {
+        if(isEmpty(eventHistory) || eventHistory.size() <= maxEntries) {
+            return List.of();
+        }
+        var trimmedCount = eventHistory.size() - maxEntries;
+        var trimmed = new ArrayList<>(eventHistory.subList(0, trimmedCount));
+        eventHistory = new ArrayList<>(eventHistory.subList(trimmedCount, eventHistory.size()));
+        return trimmed;
+    }
 }
@@ -1,7 +1,9 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.dto;
 
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,9 +15,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class History {
     private EEventSource source;
     private ESagaStatus status;
-    private String message;
+    private EHistoryStep step;
+    private String detail;
     private LocalDateTime createdAt;
 }
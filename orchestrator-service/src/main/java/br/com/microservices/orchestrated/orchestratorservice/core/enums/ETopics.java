@@ -16,7 +16,8 @@ public enum ETopics {
     PAYMENT_FAIL("payment-fail"),
     INVENTORY_SUCCESS("inventory-success"),
     INVENTORY_FAIL("inventory-fail"),
-    NOTIFY_ENDING("notify-ending");
+    NOTIFY_ENDING("notify-ending"),
+    SAGA_HISTORY("saga-history");
 
     private String topic;
 }
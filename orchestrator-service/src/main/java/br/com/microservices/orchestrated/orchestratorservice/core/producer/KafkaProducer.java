@@ -1,24 +1,32 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.producer;
 
+import br.com.microservices.orchestrated.orchestratorservice.config.jfr.KafkaPublishEvent;
+import br.com.microservices.orchestrated.orchestratorservice.core.transport.EventTransport;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @AllArgsConstructor
 public class KafkaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventTransport eventTransport;
 
     public void sendEvent(String topic, String payload) {
+        var publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
         try {
-            kafkaTemplate.send(topic, payload);
+            eventTransport.send(topic, payload);
             log.info("{} sent to topic {}", payload, topic);
         } catch (Exception e) {
             log.error("Failed to send {} to topic {}", payload, topic);
+            throw e;
+        } finally {
+            if(publishEvent.isEnabled()) {
+                publishEvent.complete(topic, 1, payload.length());
+            }
         }
     }
 }
@@ -2,66 +2,97 @@ package br.com.microservices.orchestrated.orchestratorservice.core.service;
 
 import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
 import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.orchestratorservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
 import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.NOTIFY_ENDING;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.SAGA_HISTORY;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class OrchestratorService {
     private final JsonUtil jsonUtil;
     private final KafkaProducer kafkaProducer;
     private final SagaExecutionController sagaExecutionController;
 
+    @Value("${saga.history.max-entries}")
+    private int historyMaxEntries;
+
+    @Timed("saga.step")
     public void startSaga(Event event) {
         event.setSource(ORCHESTRATOR);
         event.setStatus(ESagaStatus.SUCCESS);
         var nextTopic = sagaExecutionController.getNextTopic(event);
         log.info("SAGA STARTED");
-        addToHistory(event, "Saga started.");
-        kafkaProducer.sendEvent(nextTopic.getTopic(), jsonUtil.toJson(event));
+        addToHistory(event, EHistoryStep.SAGA_STARTED);
+        sendEvent(nextTopic.getTopic(), event);
     }
 
+    @Timed("saga.step")
     public void continueSaga(Event event) {
         var nextTopic = sagaExecutionController.getNextTopic(event);
         log.info("SAGA CONTINUING FOR EVENT: {}", event.getId());
-        kafkaProducer.sendEvent(nextTopic.getTopic(), jsonUtil.toJson(event));
+        sendEvent(nextTopic.getTopic(), event);
     }
 
+    @Timed("saga.step")
     public void finishSagaSuccess(Event event) {
         event.setSource(ORCHESTRATOR);
         event.setStatus(ESagaStatus.SUCCESS);
         log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT: {}", event.getId());
-        addToHistory(event, "Saga finished successfully.");
-        kafkaProducer.sendEvent(NOTIFY_ENDING.getTopic(), jsonUtil.toJson(event));
+        addToHistory(event, EHistoryStep.SAGA_FINISHED_SUCCESS);
+        sendEvent(NOTIFY_ENDING.getTopic(), event);
     }
 
+    @Timed("saga.step")
     public void finishSagaFail(Event event) {
         event.setSource(ORCHESTRATOR);
         event.setStatus(ESagaStatus.FAIL);
         log.info("SAGA FINISHED UNSUCCESSFULLY FOR EVENT: {}", event.getId());
-        addToHistory(event, "Saga finished unsuccessfully.");
-        kafkaProducer.sendEvent(NOTIFY_ENDING.getTopic(), jsonUtil.toJson(event));
+        addToHistory(event, EHistoryStep.SAGA_FINISHED_FAIL);
+        sendEvent(NOTIFY_ENDING.getTopic(), event);
+    }
+
+    private void addToHistory(Event event, EHistoryStep step) {
+        addToHistory(event, step, null);
     }
 
-    private void addToHistory(Event event, String message) {
+    private void addToHistory(Event event, EHistoryStep step, String detail) {
         var history = History
                 .builder()
                 .source(event.getSource())
                 .status(event.getStatus())
-                .message(message)
+                .step(step)
+                .detail(detail)
                 .createdAt(LocalDateTime.now())
                 .build();
         event.addToEventHistory(history);
     }
+
+    private void sendEvent(String topic, Event event) {
+        var trimmedHistory = event.trimEventHistory(historyMaxEntries);
+        if(!trimmedHistory.isEmpty()) {
+            var historyEvent = Event
+                    .builder()
+                    .id(event.getId())
+                    .transactionId(event.getTransactionId())
+                    .orderId(event.getOrderId())
+                    .eventHistory(trimmedHistory)
+                    .build();
+            kafkaProducer.sendEvent(SAGA_HISTORY.getTopic(), jsonUtil.toJson(historyEvent));
+        }
+        kafkaProducer.sendEvent(topic, jsonUtil.toJson(event));
+    }
 }
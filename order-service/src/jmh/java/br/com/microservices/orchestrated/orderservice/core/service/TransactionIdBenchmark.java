@@ -0,0 +1,25 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionIdBenchmark {
+
+    @Benchmark
+    public String generateTransactionId() {
+        return OrderService.generateTransactionId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTransactionIdContended() {
+        return OrderService.generateTransactionId();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.microservices.orchestrated.orderservice.config.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty"
+    );
+    private static final String RECORDING_NAME = "order-service";
+
+    @Value("${jfr.recording.settings}")
+    private String defaultSettings;
+    @Value("${jfr.recording.max-age}")
+    private Duration maxAge;
+    @Value("${jfr.recording.max-size}")
+    private DataSize maxSize;
+    @Value("${jfr.recording.start-on-startup}")
+    private boolean startOnStartup;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void init() throws Exception {
+        if(startOnStartup) {
+            start(null);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if(recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings) throws Exception {
+        if(recording == null) {
+            recording = new Recording(Configuration.getConfiguration(isEmpty(settings) ? defaultSettings : settings));
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.enable(SagaStepEvent.class);
+            recording.enable(KafkaPublishEvent.class);
+            recording.enable(KafkaConsumeEvent.class);
+            recording.enable(RepositoryCallEvent.class);
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.start();
+            log.info("JFR recording {} started", RECORDING_NAME);
+        }
+        return Map.of(
+                "name", recording.getName(),
+                "state", recording.getState().name(),
+                "startTime", String.valueOf(recording.getStartTime())
+        );
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws Exception {
+        if(recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        var file = Files.createTempFile(RECORDING_NAME.concat("-"), ".jfr");
+        try {
+            recording.dump(file);
+            var dump = Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            return new WebEndpointResponse<>(new InputStreamResource(dump));
+        } catch(Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @DeleteOperation
+    public synchronized void stop() {
+        close();
+        log.info("JFR recording {} stopped", RECORDING_NAME);
+    }
+}
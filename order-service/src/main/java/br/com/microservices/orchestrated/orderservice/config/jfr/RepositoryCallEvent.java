@@ -0,0 +1,31 @@
+package br.com.microservices.orchestrated.orderservice.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.microservices.orchestrated.RepositoryCall")
+@Label("Repository Call")
+@Category({"Saga", "Repository"})
+@Description("Invocation of a Spring Data repository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    public void complete(String repository, String method) {
+        end();
+        if(shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.orderservice.config.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+@RequiredArgsConstructor
+public class EventCodecDeserializer implements Deserializer<String> {
+    private final EventCodec eventCodec;
+
+    @Override
+    public String deserialize(String topic, byte[] data) {
+        return eventCodec.decode(null, data);
+    }
+
+    @Override
+    public String deserialize(String topic, Headers headers, byte[] data) {
+        return eventCodec.decode(headers, data);
+    }
+}
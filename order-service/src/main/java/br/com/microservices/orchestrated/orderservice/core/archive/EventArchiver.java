@@ -0,0 +1,136 @@
+package br.com.microservices.orchestrated.orderservice.core.archive;
+
+import br.com.microservices.orchestrated.orderservice.core.document.ArchivedEvent;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.repository.ArchivedEventRepository;
+import br.com.microservices.orchestrated.orderservice.core.repository.EventRepository;
+import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventArchiver {
+    private static final String CREATED_AT = "createdAt";
+    private static final String ORDER_ID = "orderId";
+    private static final String TRANSACTION_ID = "transactionId";
+
+    private final EventRepository eventRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventSegmentStore segmentStore;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${saga.archive.enabled}")
+    private boolean enabled;
+    @Value("${saga.archive.max-age-minutes}")
+    private long maxAgeMinutes;
+    @Value("${saga.archive.batch-size}")
+    private int batchSize;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(Event.class).ensureIndex(new Index().on(CREATED_AT, Sort.Direction.ASC));
+        mongoTemplate.indexOps(ArchivedEvent.class).ensureIndex(new Index()
+                .on(ORDER_ID, Sort.Direction.ASC)
+                .on(CREATED_AT, Sort.Direction.DESC));
+        mongoTemplate.indexOps(ArchivedEvent.class).ensureIndex(new Index()
+                .on(TRANSACTION_ID, Sort.Direction.ASC)
+                .on(CREATED_AT, Sort.Direction.DESC));
+    }
+
+    @Scheduled(
+            initialDelayString = "${saga.archive.interval-ms}",
+            fixedDelayString = "${saga.archive.interval-ms}"
+    )
+    public synchronized void archive() {
+        if(!enabled) {
+            return;
+        }
+        var cutoff = LocalDateTime.now().minusMinutes(maxAgeMinutes);
+        var archived = 0;
+        try {
+            List<Event> batch;
+            do {
+                batch = eventRepository.findByStatusNotNullAndCreatedAtBeforeOrderByCreatedAtAsc(cutoff, PageRequest.of(0, batchSize));
+                if(!batch.isEmpty()) {
+                    archiveBatch(batch);
+                    archived += batch.size();
+                }
+            } while(batch.size() == batchSize);
+        } catch(Exception e) {
+            log.error("Error trying to archive saga events older than {}: ", cutoff, e);
+        }
+        if(archived > 0) {
+            log.info("Archived {} saga events older than {}.", archived, cutoff);
+        }
+    }
+
+    private void archiveBatch(List<Event> batch) throws IOException {
+        var orderIds = batch
+                .stream()
+                .map(Event::getOrderId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        var orders = orderRepository
+                .findAllById(orderIds)
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        batch.forEach(event -> restoreClaimCheckedProducts(event, orders));
+        archivedEventRepository.saveAll(segmentStore.append(batch));
+        eventRepository.deleteAllById(batch.stream().map(Event::getId).toList());
+        orderRepository.deleteAllById(orderIds);
+    }
+
+    private void restoreClaimCheckedProducts(Event event, Map<String, Order> orders) {
+        var order = orders.get(event.getOrderId());
+        if(isEmpty(order) || isEmpty(event.getPayload()) || !isEmpty(event.getPayload().getProducts())) {
+            return;
+        }
+        event.getPayload().setProducts(order.getProducts());
+    }
+
+    public Optional<Event> findByOrderId(String orderId) {
+        return archivedEventRepository
+                .findTop1ByOrderIdOrderByCreatedAtDesc(orderId)
+                .flatMap(this::read);
+    }
+
+    public Optional<Event> findByTransactionId(String transactionId) {
+        return archivedEventRepository
+                .findTop1ByTransactionIdOrderByCreatedAtDesc(transactionId)
+                .flatMap(this::read);
+    }
+
+    private Optional<Event> read(ArchivedEvent archived) {
+        try {
+            return Optional.ofNullable(segmentStore.read(archived));
+        } catch(IOException e) {
+            log.error("Error trying to read archived event {} from segment {}: ",
+                    archived.getId(), archived.getSegment(), e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.microservices.orchestrated.orderservice.core.archive;
+
+import br.com.microservices.orchestrated.orderservice.core.document.ArchivedEvent;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RequiredArgsConstructor
+public class EventSegmentStore {
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_PATTERN = SEGMENT_PREFIX + "%d.jsonl.gz";
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final JsonUtil jsonUtil;
+    private Path segmentDirectory;
+    private Path currentSegment;
+
+    @Value("${saga.archive.directory}")
+    private String directory;
+    @Value("${saga.archive.max-segment-bytes}")
+    private long maxSegmentBytes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        segmentDirectory = Path.of(directory);
+        if(!Files.isDirectory(segmentDirectory)) {
+            return;
+        }
+        try(var segments = Files.list(segmentDirectory)) {
+            currentSegment = segments
+                    .filter(segment -> segment.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .max(Comparator.comparing(segment -> segment.getFileName().toString()))
+                    .orElse(null);
+        }
+    }
+
+    public synchronized List<ArchivedEvent> append(List<Event> events) throws IOException {
+        var segment = writableSegment();
+        var archivedAt = LocalDateTime.now();
+        var archived = new ArrayList<ArchivedEvent>(events.size());
+        try(var channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            var offset = channel.size();
+            for(var event : events) {
+                var record = compress(jsonUtil.toJson(event).concat(LINE_SEPARATOR));
+                channel.write(ByteBuffer.wrap(record));
+                archived.add(ArchivedEvent
+                        .builder()
+                        .id(event.getId())
+                        .transactionId(event.getTransactionId())
+                        .orderId(event.getOrderId())
+                        .createdAt(event.getCreatedAt())
+                        .segment(segment.getFileName().toString())
+                        .offset(offset)
+                        .length(record.length)
+                        .archivedAt(archivedAt)
+                        .build());
+                offset += record.length;
+            }
+            channel.force(true);
+        }
+        return archived;
+    }
+
+    public Event read(ArchivedEvent archived) throws IOException {
+        var record = ByteBuffer.allocate(archived.getLength());
+        try(var channel = FileChannel.open(segmentDirectory.resolve(archived.getSegment()), StandardOpenOption.READ)) {
+            while(record.hasRemaining()) {
+                if(channel.read(record, archived.getOffset() + record.position()) < 0) {
+                    throw new IOException("Segment " + archived.getSegment() + " is shorter than its index.");
+                }
+            }
+        }
+        return jsonUtil.toEvent(decompress(record.array()));
+    }
+
+    private Path writableSegment() throws IOException {
+        if(currentSegment == null || (Files.exists(currentSegment) && Files.size(currentSegment) >= maxSegmentBytes)) {
+            Files.createDirectories(segmentDirectory);
+            currentSegment = segmentDirectory.resolve(String.format(SEGMENT_PATTERN, System.currentTimeMillis()));
+        }
+        return currentSegment;
+    }
+
+    private byte[] compress(String json) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try(var gzip = new GZIPOutputStream(output)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return output.toByteArray();
+    }
+
+    private String decompress(byte[] record) throws IOException {
+        try(var gzip = new GZIPInputStream(new ByteArrayInputStream(record))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.microservices.orchestrated.orderservice.core.cache;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Component
+@RequiredArgsConstructor
+public class EventCache {
+    private static final String BY_ORDER_ID_CACHE = "event-by-order-id";
+    private static final String BY_TRANSACTION_ID_CACHE = "event-by-transaction-id";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${saga.event-cache.max-size}")
+    private long maxSize;
+    @Value("${saga.event-cache.expire-after-write-ms}")
+    private long expireAfterWriteMs;
+
+    private Cache<String, Event> eventsByOrderId;
+    private Cache<String, Event> eventsByTransactionId;
+
+    @PostConstruct
+    public void init() {
+        eventsByOrderId = buildCache(BY_ORDER_ID_CACHE);
+        eventsByTransactionId = buildCache(BY_TRANSACTION_ID_CACHE);
+    }
+
+    private Cache<String, Event> buildCache(String name) {
+        Cache<String, Event> cache = Caffeine
+                .newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    public Optional<Event> findByOrderId(String orderId, Function<String, Optional<Event>> loader) {
+        return Optional.ofNullable(eventsByOrderId.get(orderId, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<Event> findByTransactionId(String transactionId, Function<String, Optional<Event>> loader) {
+        return Optional.ofNullable(eventsByTransactionId.get(transactionId, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void put(Event event) {
+        if(!isEmpty(event.getOrderId())) {
+            eventsByOrderId.put(event.getOrderId(), event);
+        }
+        if(!isEmpty(event.getTransactionId())) {
+            eventsByTransactionId.put(event.getTransactionId(), event);
+        }
+    }
+
+    public void invalidate(Event event) {
+        if(!isEmpty(event.getOrderId())) {
+            eventsByOrderId.invalidate(event.getOrderId());
+        }
+        if(!isEmpty(event.getTransactionId())) {
+            eventsByTransactionId.invalidate(event.getTransactionId());
+        }
+    }
+}
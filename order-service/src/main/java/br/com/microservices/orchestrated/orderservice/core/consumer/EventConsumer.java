@@ -2,6 +2,7 @@ package br.com.microservices.orchestrated.orderservice.core.consumer;
 
 import br.com.microservices.orchestrated.orderservice.core.service.EventService;
 import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,6 +15,7 @@ public class EventConsumer {
     private final JsonUtil jsonUtil;
     private final EventService eventService;
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.notify-ending}"
@@ -23,4 +25,15 @@ public class EventConsumer {
         var event = jsonUtil.toEvent(payload);
         eventService.notifyEnding(event);
     }
+
+    @Timed("saga.consumer")
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.saga-history}"
+    )
+    public void consumeSagaHistoryEvent(String payload) {
+        log.info("Received event from saga-history topic: {}", payload);
+        var event = jsonUtil.toEvent(payload);
+        eventService.appendHistory(event);
+    }
 }
@@ -2,6 +2,8 @@ package br.com.microservices.orchestrated.orderservice.core.controller;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaStats;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaStatsFilters;
 import br.com.microservices.orchestrated.orderservice.core.service.EventService;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,4 +28,9 @@ public class EventController {
     public Event findByFilters(EventFilters filters) {
         return eventService.findByFilters(filters);
     }
+
+    @GetMapping("/stats")
+    public SagaStats findStats(SagaStatsFilters filters) {
+        return eventService.findStats(filters);
+    }
 }
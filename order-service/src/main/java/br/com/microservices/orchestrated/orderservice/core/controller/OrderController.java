@@ -1,14 +1,19 @@
 package br.com.microservices.orchestrated.orderservice.core.controller;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProduct;
 import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequest;
 import br.com.microservices.orchestrated.orderservice.core.service.OrderService;
 import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/order")
@@ -19,4 +24,9 @@ public class OrderController {
     public Order createOrder(@RequestBody OrderRequest request) {
         return orderService.createOrder(request);
     }
+
+    @GetMapping("/{id}/products")
+    public List<OrderProduct> findProducts(@PathVariable String id) {
+        return orderService.findProducts(id);
+    }
 }
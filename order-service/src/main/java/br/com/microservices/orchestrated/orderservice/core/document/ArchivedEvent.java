@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.orderservice.core.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "event_archive")
+public class ArchivedEvent {
+    @Id
+    private String id;
+    private String transactionId;
+    private String orderId;
+    private LocalDateTime createdAt;
+    private String segment;
+    private long offset;
+    private int length;
+    private LocalDateTime archivedAt;
+}
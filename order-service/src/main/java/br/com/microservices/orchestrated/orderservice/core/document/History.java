@@ -15,5 +15,7 @@ public class History {
     private String source;
     private String status;
     private String message;
+    private String step;
+    private String detail;
     private LocalDateTime createdAt;
 }
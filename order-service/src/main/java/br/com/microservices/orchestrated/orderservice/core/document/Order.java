@@ -19,8 +19,9 @@ public class Order {
    @Id
    private String id;
    private List<OrderProduct> products;
-   private double totalAmount;
+   private Money totalAmount;
    private int totalItems;
    private LocalDateTime createdAt;
    private String transactionId;
+   private String claimCheck;
 }
@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.orderservice.core.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "saga_stats")
+public class SagaStatsCheckpoint {
+    @Id
+    private String id;
+    private String instanceId;
+    private LocalDateTime bucketStart;
+    private String status;
+    private String source;
+    private long count;
+    private byte[] histogram;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.ArchivedEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface ArchivedEventRepository extends MongoRepository<ArchivedEvent, String> {
+    Optional<ArchivedEvent> findTop1ByOrderIdOrderByCreatedAtDesc(String orderId);
+    Optional<ArchivedEvent> findTop1ByTransactionIdOrderByCreatedAtDesc(String transactionId);
+}
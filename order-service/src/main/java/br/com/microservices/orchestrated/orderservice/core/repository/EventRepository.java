@@ -1,13 +1,16 @@
 package br.com.microservices.orchestrated.orderservice.core.repository;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends MongoRepository<Event, String> {
+public interface EventRepository extends MongoRepository<Event, String>, EventRepositoryCustom {
     List<Event> findAllByOrderByCreatedAtDesc();
     Optional<Event> findTop1ByOrderIdOrderByCreatedAtDesc(String orderId);
     Optional<Event> findTop1ByTransactionIdOrderByCreatedAtDesc(String transactionId);
+    List<Event> findByStatusNotNullAndCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime createdAt, Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.History;
+
+import java.util.List;
+
+public interface EventRepositoryCustom {
+    void appendHistory(String id, List<History> history);
+    Event saveEnding(Event event);
+}
@@ -0,0 +1,59 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.History;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@AllArgsConstructor
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+    private static final String ID = "_id";
+    private static final String EVENT_HISTORY = "eventHistory";
+    private static final Sort HISTORY_ORDER = Sort.by("createdAt");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void appendHistory(String id, List<History> history) {
+        if(isEmpty(history)) {
+            return;
+        }
+        mongoTemplate.updateFirst(query(where(ID).is(id)), pushHistory(new Update(), history), Event.class);
+    }
+
+    @Override
+    public Event saveEnding(Event event) {
+        var update = new Update()
+                .set("transactionId", event.getTransactionId())
+                .set("orderId", event.getOrderId())
+                .set("payload", event.getPayload())
+                .set("source", event.getSource())
+                .set("status", event.getStatus())
+                .set("createdAt", event.getCreatedAt());
+        if(!isEmpty(event.getEventHistory())) {
+            pushHistory(update, event.getEventHistory());
+        }
+        return mongoTemplate.findAndModify(
+                query(where(ID).is(event.getId())),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Event.class
+        );
+    }
+
+    private Update pushHistory(Update update, List<History> history) {
+        return update
+                .push(EVENT_HISTORY)
+                .sort(HISTORY_ORDER)
+                .each(history.toArray());
+    }
+}
@@ -2,6 +2,11 @@ package br.com.microservices.orchestrated.orderservice.core.repository;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
 
 public interface OrderRepository extends MongoRepository<Order, String> {
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'products': 1 }")
+    Optional<Order> findProductsById(String id);
 }
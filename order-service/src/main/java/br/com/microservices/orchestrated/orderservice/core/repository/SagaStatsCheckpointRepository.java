@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatsCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SagaStatsCheckpointRepository extends MongoRepository<SagaStatsCheckpoint, String> {
+    List<SagaStatsCheckpoint> findAllByInstanceIdAndBucketStartGreaterThanEqual(String instanceId, LocalDateTime bucketStart);
+    void deleteAllByBucketStartBefore(LocalDateTime bucketStart);
+}
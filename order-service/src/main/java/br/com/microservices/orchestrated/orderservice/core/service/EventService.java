@@ -1,13 +1,24 @@
 package br.com.microservices.orchestrated.orderservice.core.service;
 
 import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.core.archive.EventArchiver;
+import br.com.microservices.orchestrated.orderservice.core.cache.EventCache;
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaStats;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaStatsFilters;
 import br.com.microservices.orchestrated.orderservice.core.repository.EventRepository;
+import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
+import br.com.microservices.orchestrated.orderservice.core.stats.SagaStatsRecorder;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -18,7 +29,14 @@ import static org.springframework.util.ObjectUtils.isEmpty;
 @Service
 @AllArgsConstructor
 public class EventService {
+    private static final String SAGA_DURATION_TIMER = "saga.end.to.end";
+
     private final EventRepository repository;
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+    private final EventCache eventCache;
+    private final SagaStatsRecorder sagaStatsRecorder;
+    private final EventArchiver eventArchiver;
 
     public List<Event> findAll() {
         return repository.findAllByOrderByCreatedAtDesc();
@@ -27,30 +45,84 @@ public class EventService {
     public Event findByFilters(EventFilters filters) {
         validateEmptyFilters(filters);
         if(!isEmpty(filters.getOrderId())) {
-            return repository
-                    .findTop1ByOrderIdOrderByCreatedAtDesc(filters.getOrderId())
+            return eventCache
+                    .findByOrderId(filters.getOrderId(), this::findLatestByOrderId)
                     .orElseThrow(() -> new ValidationException("Event not found by OrderID."));
         } else {
-            return repository
-                    .findTop1ByTransactionIdOrderByCreatedAtDesc(filters.getTransactionId())
+            return eventCache
+                    .findByTransactionId(filters.getTransactionId(), this::findLatestByTransactionId)
                     .orElseThrow(() -> new ValidationException("Event not found by TransactionID."));
         }
     }
 
+    private Optional<Event> findLatestByOrderId(String orderId) {
+        return repository
+                .findTop1ByOrderIdOrderByCreatedAtDesc(orderId)
+                .map(this::resolveClaimCheck)
+                .or(() -> eventArchiver.findByOrderId(orderId));
+    }
+
+    private Optional<Event> findLatestByTransactionId(String transactionId) {
+        return repository
+                .findTop1ByTransactionIdOrderByCreatedAtDesc(transactionId)
+                .map(this::resolveClaimCheck)
+                .or(() -> eventArchiver.findByTransactionId(transactionId));
+    }
+
+    private Event resolveClaimCheck(Event event) {
+        var payload = event.getPayload();
+        if(isEmpty(payload) || isEmpty(payload.getClaimCheck()) || !isEmpty(payload.getProducts())) {
+            return event;
+        }
+        orderRepository
+                .findProductsById(payload.getClaimCheck())
+                .ifPresent(order -> payload.setProducts(order.getProducts()));
+        return event;
+    }
+
     private void validateEmptyFilters(EventFilters filters) {
         if(isEmpty(filters.getOrderId()) && isEmpty(filters.getTransactionId())) {
             throw new ValidationException("OrderID or TransactionID must be informed.");
         }
     }
 
+    public SagaStats findStats(SagaStatsFilters filters) {
+        var to = isEmpty(filters.getTo()) ? LocalDateTime.now() : filters.getTo();
+        var from = isEmpty(filters.getFrom()) ? LocalDate.now().atStartOfDay() : filters.getFrom();
+        if(from.isAfter(to)) {
+            throw new ValidationException("From date must be before the to date.");
+        }
+        return sagaStatsRecorder.stats(from, to);
+    }
+
     public Event save(Event event) {
         return repository.save(event);
     }
 
+    public void appendHistory(Event event) {
+        repository.appendHistory(event.getId(), event.getEventHistory());
+        eventCache.invalidate(event);
+    }
+
+    @Timed("saga.step")
     public void notifyEnding(Event event) {
+        recordSagaDuration(event);
         event.setOrderId(event.getOrderId());
         event.setCreatedAt(LocalDateTime.now());
-        save(event);
+        eventCache.put(resolveClaimCheck(repository.saveEnding(event)));
         log.info("Order {} with saga notified! TransactionId: {}", event.getOrderId(), event.getTransactionId());
     }
+
+    private void recordSagaDuration(Event event) {
+        if(isEmpty(event.getCreatedAt())) {
+            return;
+        }
+        var duration = Duration.between(event.getCreatedAt(), LocalDateTime.now());
+        Timer
+                .builder(SAGA_DURATION_TIMER)
+                .tag("status", String.valueOf(event.getStatus()))
+                .register(meterRegistry)
+                .record(duration);
+        sagaStatsRecorder.record(event.getStatus(), event.getSource(), duration);
+    }
 }
@@ -1,35 +1,48 @@
 package br.com.microservices.orchestrated.orderservice.core.service;
 
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OrderProduct;
 import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequest;
 import br.com.microservices.orchestrated.orderservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
 import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class OrderService {
-    private final String TRANSACTION_ID_PATTERN = "%s_%s";
+    private static final String TRANSACTION_ID_PATTERN = "%s_%s";
     private final OrderRepository repository;
     private final KafkaProducer producer;
     private final JsonUtil jsonUtil;
     private final EventService eventService;
 
+    @Value("${saga.claim-check.enabled}")
+    private boolean claimCheckEnabled;
+    @Value("${saga.claim-check.threshold-products}")
+    private int claimCheckThresholdProducts;
+
+    @Timed("saga.step")
     public Order createOrder(OrderRequest request) {
         var order = Order
                 .builder()
                 .products(request.getProducts())
                 .createdAt(LocalDateTime.now())
-                .transactionId(
-                        String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID())
-                )
+                .transactionId(generateTransactionId())
                 .build();
 
         repository.save(order);
@@ -37,18 +50,46 @@ public class OrderService {
         return order;
     }
 
+    public List<OrderProduct> findProducts(String id) {
+        return repository
+                .findProductsById(id)
+                .map(Order::getProducts)
+                .orElseThrow(() -> new ValidationException("Order not found by ID."));
+    }
+
+    static String generateTransactionId() {
+        return String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID());
+    }
+
     private Event createPayload(Order order) {
         var event = Event
                 .builder()
                 .orderId(order.getId())
                 .transactionId(order.getTransactionId())
                 .createdAt(LocalDateTime.now())
-                .payload(order)
+                .payload(toPayload(order))
                 .build();
 
         eventService.save(event);
         return event;
     }
 
-
+    private Order toPayload(Order order) {
+        if(!claimCheckEnabled
+                || isEmpty(order.getProducts())
+                || order.getProducts().size() <= claimCheckThresholdProducts) {
+            return order;
+        }
+        log.info("Order {} has {} products, sending a claim check instead of the product list.",
+                order.getId(), order.getProducts().size());
+        return Order
+                .builder()
+                .id(order.getId())
+                .totalAmount(order.getTotalAmount())
+                .totalItems(order.getTotalItems())
+                .createdAt(order.getCreatedAt())
+                .transactionId(order.getTransactionId())
+                .claimCheck(order.getId())
+                .build();
+    }
 }
@@ -0,0 +1,98 @@
+package br.com.microservices.orchestrated.orderservice.core.stats;
+
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatsCheckpoint;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaOutcomeStats;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+@Getter
+class SagaOutcomeHistogram {
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String status;
+    private final String source;
+    private final Histogram histogram;
+    private long version;
+    private long checkpointedVersion;
+
+    SagaOutcomeHistogram(String status, String source) {
+        this(status, source, new Histogram(SIGNIFICANT_DIGITS));
+    }
+
+    SagaOutcomeHistogram(String status, String source, Histogram histogram) {
+        this.status = status;
+        this.source = source;
+        this.histogram = histogram;
+    }
+
+    static Histogram emptyHistogram() {
+        return new Histogram(SIGNIFICANT_DIGITS);
+    }
+
+    synchronized void record(long durationMicros) {
+        histogram.recordValue(Math.max(0, durationMicros));
+        version++;
+    }
+
+    synchronized void addTo(Histogram target) {
+        target.add(histogram);
+    }
+
+    synchronized long count() {
+        return histogram.getTotalCount();
+    }
+
+    synchronized boolean isDirty() {
+        return version != checkpointedVersion;
+    }
+
+    synchronized long currentVersion() {
+        return version;
+    }
+
+    synchronized void markCheckpointed(long checkpointVersion) {
+        checkpointedVersion = Math.max(checkpointedVersion, checkpointVersion);
+    }
+
+    synchronized SagaStatsCheckpoint toCheckpoint(String id, String instanceId, LocalDateTime bucketStart) {
+        var buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        var length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return SagaStatsCheckpoint
+                .builder()
+                .id(id)
+                .instanceId(instanceId)
+                .bucketStart(bucketStart)
+                .status(status)
+                .source(source)
+                .count(histogram.getTotalCount())
+                .histogram(Arrays.copyOf(buffer.array(), length))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    synchronized SagaOutcomeStats toStats() {
+        return SagaOutcomeStats
+                .builder()
+                .status(status)
+                .source(source)
+                .count(histogram.getTotalCount())
+                .p50Ms(percentileMs(histogram, 50))
+                .p90Ms(percentileMs(histogram, 90))
+                .p99Ms(percentileMs(histogram, 99))
+                .maxMs(maxMs(histogram))
+                .build();
+    }
+
+    static double percentileMs(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    static double maxMs(Histogram histogram) {
+        return histogram.getMaxValue() / MICROS_PER_MILLI;
+    }
+}
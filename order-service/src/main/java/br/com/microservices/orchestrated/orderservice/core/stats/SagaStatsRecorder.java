@@ -0,0 +1,171 @@
+package br.com.microservices.orchestrated.orderservice.core.stats;
+
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatsCheckpoint;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaOutcomeStats;
+import br.com.microservices.orchestrated.orderservice.core.dto.SagaStats;
+import br.com.microservices.orchestrated.orderservice.core.repository.SagaStatsCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.DataFormatException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaStatsRecorder {
+    private static final String OUTCOME_KEY_PATTERN = "%s_%s";
+    private static final String CHECKPOINT_ID_PATTERN = "%s_%s_%s";
+    private static final String SUCCESS_STATUS = "SUCCESS";
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private final SagaStatsCheckpointRepository checkpointRepository;
+    private final NavigableMap<LocalDateTime, Map<String, SagaOutcomeHistogram>> buckets = new ConcurrentSkipListMap<>();
+
+    @Value("${saga.stats.bucket-minutes}")
+    private long bucketMinutes;
+    @Value("${saga.stats.retention-buckets}")
+    private long retentionBuckets;
+    @Value("${saga.stats.instance-id}")
+    private String instanceId;
+
+    @PostConstruct
+    public void restore() {
+        var checkpoints = checkpointRepository.findAllByInstanceIdAndBucketStartGreaterThanEqual(
+                instanceId,
+                oldestRetainedBucket()
+        );
+        checkpoints.forEach(this::restoreCheckpoint);
+        log.info("Restored {} saga stats checkpoints into {} buckets.", checkpoints.size(), buckets.size());
+    }
+
+    private void restoreCheckpoint(SagaStatsCheckpoint checkpoint) {
+        try {
+            var histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(checkpoint.getHistogram()), 0);
+            buckets
+                    .computeIfAbsent(checkpoint.getBucketStart(), bucketStart -> new ConcurrentHashMap<>())
+                    .put(
+                            outcomeKey(checkpoint.getStatus(), checkpoint.getSource()),
+                            new SagaOutcomeHistogram(checkpoint.getStatus(), checkpoint.getSource(), histogram)
+                    );
+        } catch(DataFormatException e) {
+            log.warn("Ignoring corrupted saga stats checkpoint {}.", checkpoint.getId());
+        }
+    }
+
+    public void record(String status, String source, Duration duration) {
+        var outcomeStatus = String.valueOf(status);
+        var outcomeSource = String.valueOf(source);
+        buckets
+                .computeIfAbsent(bucketStart(LocalDateTime.now()), bucketStart -> new ConcurrentHashMap<>())
+                .computeIfAbsent(
+                        outcomeKey(outcomeStatus, outcomeSource),
+                        key -> new SagaOutcomeHistogram(outcomeStatus, outcomeSource)
+                )
+                .record(duration.toNanos() / 1000);
+    }
+
+    public SagaStats stats(LocalDateTime from, LocalDateTime to) {
+        var overall = SagaOutcomeHistogram.emptyHistogram();
+        var outcomes = new TreeMap<String, SagaOutcomeHistogram>();
+        buckets
+                .subMap(bucketStart(from), true, to, true)
+                .values()
+                .forEach(bucket -> bucket.values().forEach(outcome -> {
+                    outcome.addTo(overall);
+                    outcome.addTo(outcomes
+                            .computeIfAbsent(
+                                    outcomeKey(outcome.getStatus(), outcome.getSource()),
+                                    key -> new SagaOutcomeHistogram(outcome.getStatus(), outcome.getSource())
+                            )
+                            .getHistogram());
+                }));
+        var total = overall.getTotalCount();
+        var succeeded = outcomes
+                .values()
+                .stream()
+                .filter(outcome -> SUCCESS_STATUS.equals(outcome.getStatus()))
+                .mapToLong(SagaOutcomeHistogram::count)
+                .sum();
+        return SagaStats
+                .builder()
+                .from(from)
+                .to(to)
+                .total(total)
+                .successRate(total == 0 ? 0.0 : (double) succeeded / total)
+                .p50Ms(SagaOutcomeHistogram.percentileMs(overall, 50))
+                .p90Ms(SagaOutcomeHistogram.percentileMs(overall, 90))
+                .p99Ms(SagaOutcomeHistogram.percentileMs(overall, 99))
+                .maxMs(SagaOutcomeHistogram.maxMs(overall))
+                .outcomes(outcomes
+                        .values()
+                        .stream()
+                        .map(SagaOutcomeHistogram::toStats)
+                        .sorted(Comparator.comparingLong(SagaOutcomeStats::getCount).reversed())
+                        .toList())
+                .build();
+    }
+
+    @PreDestroy
+    @Scheduled(
+            initialDelayString = "${saga.stats.checkpoint-interval-ms}",
+            fixedDelayString = "${saga.stats.checkpoint-interval-ms}"
+    )
+    public synchronized void checkpoint() {
+        var oldestRetained = oldestRetainedBucket();
+        buckets.headMap(oldestRetained).clear();
+        var checkpoints = new ArrayList<SagaStatsCheckpoint>();
+        var checkpointed = new ArrayList<Runnable>();
+        buckets.forEach((bucketStart, bucket) -> bucket.forEach((key, outcome) -> {
+            if(outcome.isDirty()) {
+                var version = outcome.currentVersion();
+                checkpoints.add(outcome.toCheckpoint(checkpointId(bucketStart, key), instanceId, bucketStart));
+                checkpointed.add(() -> outcome.markCheckpointed(version));
+            }
+        }));
+        try {
+            if(!checkpoints.isEmpty()) {
+                checkpointRepository.saveAll(checkpoints);
+                checkpointed.forEach(Runnable::run);
+            }
+            checkpointRepository.deleteAllByBucketStartBefore(oldestRetained);
+        } catch(Exception e) {
+            log.error("Error trying to checkpoint {} saga stats entries: ", checkpoints.size(), e);
+        }
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime time) {
+        var minutes = time.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE;
+        var bucketMinute = minutes - Math.floorMod(minutes, bucketMinutes);
+        return LocalDateTime.ofEpochSecond(bucketMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    private LocalDateTime oldestRetainedBucket() {
+        return bucketStart(LocalDateTime.now()).minusMinutes(bucketMinutes * (retentionBuckets - 1));
+    }
+
+    private String outcomeKey(String status, String source) {
+        return String.format(OUTCOME_KEY_PATTERN, status, source);
+    }
+
+    private String checkpointId(LocalDateTime bucketStart, String outcomeKey) {
+        return String.format(CHECKPOINT_ID_PATTERN, instanceId, bucketStart, outcomeKey);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orderservice.core.transport;
+
+public interface EventTransport {
+    void send(String topic, String payload);
+
+    default void flush() {
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.microservices.orchestrated.orderservice.core.transport;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "saga.transport.type", havingValue = "kafka", matchIfMissing = true)
+public class KafkaEventTransport implements EventTransport {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Override
+    public void send(String topic, String payload) {
+        kafkaTemplate.send(topic, payload);
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
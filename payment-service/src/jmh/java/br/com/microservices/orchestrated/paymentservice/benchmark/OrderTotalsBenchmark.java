@@ -0,0 +1,68 @@
+package br.com.microservices.orchestrated.paymentservice.benchmark;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderTotals;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTotalsBenchmark {
+
+    private static final Double REDUCE_SUM_VALUE = 0.0;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int lines;
+
+    private List<OrderProduct> products;
+    private List<LegacyOrderProduct> legacyProducts;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42);
+        products = new ArrayList<>(lines);
+        legacyProducts = new ArrayList<>(lines);
+        for(var i = 0; i < lines; i++) {
+            var cents = random.nextLong(1, 100_000);
+            var quantity = random.nextInt(1, 20);
+            var unitValue = Money.ofCents(cents);
+            products.add(new OrderProduct(new Product("PRODUCT_" + i, unitValue), quantity));
+            legacyProducts.add(new LegacyOrderProduct(quantity, unitValue.toBigDecimal().doubleValue()));
+        }
+    }
+
+    @Benchmark
+    public void legacyStreams(Blackhole blackhole) {
+        blackhole.consume(legacyProducts
+                .stream()
+                .map(LegacyOrderProduct::quantity)
+                .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum));
+        blackhole.consume(legacyProducts
+                .stream()
+                .map(orderProduct -> orderProduct.quantity() * orderProduct.unitValue())
+                .reduce(REDUCE_SUM_VALUE, Double::sum));
+    }
+
+    @Benchmark
+    public OrderTotals orderTotals() {
+        return OrderTotals.of(products);
+    }
+
+    private record LegacyOrderProduct(Integer quantity, Double unitValue) {
+    }
+}
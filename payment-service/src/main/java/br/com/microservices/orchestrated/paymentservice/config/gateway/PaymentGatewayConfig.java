@@ -0,0 +1,44 @@
+package br.com.microservices.orchestrated.paymentservice.config.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PaymentGatewayConfig {
+    private static final String CALLBACK_THREAD_PREFIX = "payment-callback-";
+
+    @Value("${payment.gateway.connect-timeout-ms}")
+    private long connectTimeoutMs;
+    @Value("${payment.gateway.callback.threads}")
+    private int callbackThreads;
+    @Value("${payment.gateway.callback.queue-capacity}")
+    private int callbackQueueCapacity;
+
+    @Bean
+    public HttpClient paymentGatewayHttpClient() {
+        return HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentCallbackExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(callbackThreads);
+        executor.setMaxPoolSize(callbackThreads);
+        executor.setQueueCapacity(callbackQueueCapacity);
+        executor.setThreadNamePrefix(CALLBACK_THREAD_PREFIX);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
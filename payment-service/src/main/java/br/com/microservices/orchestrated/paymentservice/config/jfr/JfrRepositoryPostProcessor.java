@@ -0,0 +1,34 @@
+package br.com.microservices.orchestrated.paymentservice.config.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JfrRepositoryPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if(bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            recordRepositoryCall(repositoryInformation.getRepositoryInterface().getSimpleName())
+                    )
+            ));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor recordRepositoryCall(String repository) {
+        return invocation -> {
+            var callEvent = new RepositoryCallEvent();
+            callEvent.begin();
+            try {
+                return invocation.proceed();
+            } finally {
+                callEvent.complete(repository, invocation.getMethod().getName());
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.microservices.orchestrated.paymentservice.config.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.jpountz.lz4.LZ4Factory;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class EventCodec {
+    public static final String CODEC_HEADER = "saga-codec";
+
+    private static final String LZ4 = "lz4";
+    private static final String NONE = "none";
+    private static final byte[] LZ4_HEADER_VALUE = LZ4.getBytes(UTF_8);
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+    private static final String TIME_METRIC = "saga.codec.time";
+    private static final String RATIO_METRIC = "saga.codec.compression.ratio";
+    private static final String MESSAGES_METRIC = "saga.codec.messages";
+
+    private final boolean enabled;
+    private final int thresholdBytes;
+    private final int maxDecodedBytes;
+    private final Timer compressTimer;
+    private final Timer decompressTimer;
+    private final DistributionSummary compressionRatio;
+    private final Counter compressedMessages;
+    private final Counter uncompressedMessages;
+
+    public EventCodec(boolean enabled, int thresholdBytes, int maxDecodedBytes, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.thresholdBytes = thresholdBytes;
+        this.maxDecodedBytes = maxDecodedBytes;
+        this.compressTimer = Timer
+                .builder(TIME_METRIC)
+                .tag("operation", "compress")
+                .tag("codec", LZ4)
+                .register(meterRegistry);
+        this.decompressTimer = Timer
+                .builder(TIME_METRIC)
+                .tag("operation", "decompress")
+                .tag("codec", LZ4)
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary
+                .builder(RATIO_METRIC)
+                .tag("codec", LZ4)
+                .register(meterRegistry);
+        this.compressedMessages = Counter
+                .builder(MESSAGES_METRIC)
+                .tag("codec", LZ4)
+                .register(meterRegistry);
+        this.uncompressedMessages = Counter
+                .builder(MESSAGES_METRIC)
+                .tag("codec", NONE)
+                .register(meterRegistry);
+    }
+
+    public byte[] encode(Headers headers, String payload) {
+        if(payload == null) {
+            return null;
+        }
+        var bytes = payload.getBytes(UTF_8);
+        // Payloads over maxDecodedBytes go out uncompressed, since decode would refuse them.
+        if(!enabled || headers == null || bytes.length < thresholdBytes || bytes.length > maxDecodedBytes) {
+            uncompressedMessages.increment();
+            return bytes;
+        }
+        var start = System.nanoTime();
+        var compressor = LZ4_FACTORY.fastCompressor();
+        var compressed = new byte[LENGTH_PREFIX_BYTES + compressor.maxCompressedLength(bytes.length)];
+        ByteBuffer.wrap(compressed).putInt(bytes.length);
+        var encodedLength = LENGTH_PREFIX_BYTES
+                + compressor.compress(bytes, 0, bytes.length, compressed, LENGTH_PREFIX_BYTES);
+        compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if(encodedLength >= bytes.length) {
+            uncompressedMessages.increment();
+            return bytes;
+        }
+        compressionRatio.record((double) bytes.length / encodedLength);
+        compressedMessages.increment();
+        headers.add(CODEC_HEADER, LZ4_HEADER_VALUE);
+        return Arrays.copyOf(compressed, encodedLength);
+    }
+
+    public String decode(Headers headers, byte[] data) {
+        if(data == null) {
+            return null;
+        }
+        var codec = headers == null ? null : headers.lastHeader(CODEC_HEADER);
+        if(codec == null) {
+            return new String(data, UTF_8);
+        }
+        if(!Arrays.equals(LZ4_HEADER_VALUE, codec.value())) {
+            throw new IllegalStateException(String.format(
+                    "Unsupported saga codec %s.", new String(codec.value(), UTF_8)
+            ));
+        }
+        var start = System.nanoTime();
+        var decompressed = new byte[declaredLength(data)];
+        var decodedLength = LZ4_FACTORY
+                .safeDecompressor()
+                .decompress(data, LENGTH_PREFIX_BYTES, data.length - LENGTH_PREFIX_BYTES, decompressed, 0);
+        if(decodedLength != decompressed.length) {
+            throw new IllegalStateException(String.format(
+                    "Compressed saga event declares %s bytes but decodes to %s.", decompressed.length, decodedLength
+            ));
+        }
+        decompressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new String(decompressed, UTF_8);
+    }
+
+    // The length prefix comes from the record, so it is checked before it sizes the allocation.
+    private int declaredLength(byte[] data) {
+        if(data.length < LENGTH_PREFIX_BYTES) {
+            throw new IllegalStateException("Compressed saga event is shorter than its length prefix.");
+        }
+        var length = ByteBuffer.wrap(data).getInt();
+        if(length < 0 || length > maxDecodedBytes) {
+            throw new IllegalStateException(String.format(
+                    "Compressed saga event declares %s bytes, over the limit of %s bytes.", length, maxDecodedBytes
+            ));
+        }
+        return length;
+    }
+}
@@ -2,11 +2,15 @@ package br.com.microservices.orchestrated.paymentservice.core.consumer;
 
 import br.com.microservices.orchestrated.paymentservice.core.service.PaymentService;
 import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+
 @Slf4j
 @Component
 @AllArgsConstructor
@@ -14,6 +18,7 @@ public class PaymentConsumer {
     private final JsonUtil jsonUtil;
     private final PaymentService paymentService;
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.payment-success}"
@@ -24,13 +29,20 @@ public class PaymentConsumer {
         paymentService.realizePayment(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-fail}"
+            topics = "${spring.kafka.topic.payment-fail}",
+            batch = "true",
+            properties = "max.poll.records=${payment.refund.batch.max-size}"
     )
-    public void consumeFailEvent(String payload) {
-        log.info("Received rollback event from payment-fail topic: {}", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizeRefund(event);
+    public void consumeFailEvents(List<String> payloads) {
+        log.info("Received {} rollback events from payment-fail topic", payloads.size());
+        var events = payloads
+                .stream()
+                .map(jsonUtil::toEvent)
+                .filter(Objects::nonNull)
+                .toList();
+        paymentService.realizeRefunds(events);
     }
 }
@@ -0,0 +1,21 @@
+package br.com.microservices.orchestrated.paymentservice.core.dto;
+
+import java.util.List;
+
+public record OrderTotals(int totalItems, Money totalAmount) {
+
+    public static OrderTotals of(List<OrderProduct> products) {
+        var totalItems = 0;
+        var totalCents = 0L;
+        for(var i = 0; i < products.size(); i++) {
+            var orderProduct = products.get(i);
+            var quantity = orderProduct.getQuantity();
+            totalItems = Math.addExact(totalItems, quantity);
+            totalCents = Math.addExact(
+                    totalCents,
+                    Math.multiplyExact(orderProduct.getProduct().getUnitValue().cents(), quantity)
+            );
+        }
+        return new OrderTotals(totalItems, Money.ofCents(totalCents));
+    }
+}
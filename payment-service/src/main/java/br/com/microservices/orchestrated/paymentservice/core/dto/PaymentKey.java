@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.paymentservice.core.dto;
+
+public record PaymentKey(String orderId, String transactionId) {
+
+    public static PaymentKey of(Event event) {
+        return new PaymentKey(event.getOrderId(), event.getTransactionId());
+    }
+}
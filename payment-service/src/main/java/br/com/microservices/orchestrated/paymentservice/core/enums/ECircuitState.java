@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.paymentservice.core.enums;
+
+public enum ECircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,61 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.core.enums.ECircuitState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+public class CircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final AtomicReference<ECircuitState> state = new AtomicReference<>(ECircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public boolean tryAcquirePermission() {
+        var current = state.get();
+        if(ECircuitState.CLOSED.equals(current)) {
+            return true;
+        }
+        if(ECircuitState.OPEN.equals(current)
+                && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            return state.compareAndSet(ECircuitState.OPEN, ECircuitState.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if(state.getAndSet(ECircuitState.CLOSED) != ECircuitState.CLOSED) {
+            log.info("Circuit breaker {} closed", name);
+        }
+    }
+
+    public void onFailure() {
+        if(ECircuitState.HALF_OPEN.equals(state.get())
+                || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    public ECircuitState getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        if(state.getAndSet(ECircuitState.OPEN) != ECircuitState.OPEN) {
+            log.warn("Circuit breaker {} opened after {} consecutive failures", name, consecutiveFailures.get());
+        }
+    }
+}
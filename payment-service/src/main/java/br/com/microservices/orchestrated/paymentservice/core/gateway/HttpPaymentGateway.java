@@ -0,0 +1,176 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "http")
+public class HttpPaymentGateway implements PaymentGateway {
+    private static final String AUTHORIZATIONS_PATH = "/authorizations";
+    private static final String BATCH_AUTHORIZATIONS_PATH = "/authorizations/batch";
+    private static final String VOID_AUTHORIZATION_PATH = "/authorizations/%s/void";
+    private static final String VOID_IDEMPOTENCY_KEY = "%s:void";
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final TypeReference<List<PaymentAuthorizationBatchResult>> BATCH_RESULT_LIST = new TypeReference<>() {
+    };
+
+    private final HttpClient paymentGatewayHttpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.gateway.url}")
+    private String gatewayUrl;
+    @Value("${payment.gateway.timeout-ms}")
+    private long timeoutMs;
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+        return send(AUTHORIZATIONS_PATH, request.transactionId(), toJson(request))
+                .thenApply(response -> toAuthorization(request, response));
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String transactionId) {
+        var path = String.format(VOID_AUTHORIZATION_PATH, URLEncoder.encode(transactionId, StandardCharsets.UTF_8));
+        return send(path, String.format(VOID_IDEMPOTENCY_KEY, transactionId), new byte[0])
+                .thenAccept(response -> validateVoid(transactionId, response));
+    }
+
+    // Each item carries its transaction id as idempotency key, the same key a single authorization sends,
+    // so an item authorizes once no matter which batch, or which retry, it travels in.
+    @Override
+    public CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<PaymentAuthorizationRequest> requests) {
+        var items = requests
+                .stream()
+                .map(PaymentAuthorizationBatchItem::of)
+                .toList();
+        return send(BATCH_AUTHORIZATIONS_PATH, null, toJson(items))
+                .thenCompose(response -> toAuthorizations(requests, response));
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(String path, String idempotencyKey, byte[] body) {
+        var httpRequest = HttpRequest
+                .newBuilder(URI.create(gatewayUrl.concat(path)))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if(idempotencyKey != null) {
+            httpRequest.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return paymentGatewayHttpClient.sendAsync(httpRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch(Exception e) {
+            throw new ValidationException("Could not serialize payment authorization request.");
+        }
+    }
+
+    private PaymentAuthorization toAuthorization(PaymentAuthorizationRequest request,
+                                                 HttpResponse<byte[]> response) {
+        if(isRejected(response)) {
+            return PaymentAuthorization.declined(request.transactionId(), rejectionMessage(response));
+        }
+        try {
+            return objectMapper.readValue(response.body(), PaymentAuthorization.class);
+        } catch(Exception e) {
+            log.error("Invalid payment gateway response for transaction {}", request.transactionId(), e);
+            throw new ValidationException("Invalid payment gateway response.");
+        }
+    }
+
+    // A rejected batch says nothing about which item was at fault, so every item is authorized on its own
+    // and only the offending ones are declined. The same goes for items that failed or are missing from
+    // the response. A failure in one of those single calls still fails the whole batch.
+    private CompletableFuture<List<PaymentAuthorization>> toAuthorizations(List<PaymentAuthorizationRequest> requests,
+                                                                           HttpResponse<byte[]> response) {
+        if(isRejected(response)) {
+            log.warn("Payment gateway rejected a batch of {} transactions with status {}. Authorizing them one by one.",
+                    requests.size(), response.statusCode());
+            return PaymentGateway.super.authorizeBatch(requests);
+        }
+        var results = readBatchResults(requests, response);
+        var authorizations = requests
+                .stream()
+                .map(request -> toAuthorization(request, results.get(request.transactionId())))
+                .toList();
+        return CompletableFuture
+                .allOf(authorizations.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> authorizations
+                        .stream()
+                        .map(CompletableFuture::join)
+                        .toList());
+    }
+
+    private Map<String, PaymentAuthorizationBatchResult> readBatchResults(List<PaymentAuthorizationRequest> requests,
+                                                                          HttpResponse<byte[]> response) {
+        try {
+            return objectMapper
+                    .readValue(response.body(), BATCH_RESULT_LIST)
+                    .stream()
+                    .collect(Collectors.toMap(PaymentAuthorizationBatchResult::transactionId, Function.identity(), (first, second) -> first));
+        } catch(Exception e) {
+            log.error("Invalid payment gateway batch response for {} transactions", requests.size(), e);
+            throw new ValidationException("Invalid payment gateway response.");
+        }
+    }
+
+    private CompletableFuture<PaymentAuthorization> toAuthorization(PaymentAuthorizationRequest request,
+                                                                    PaymentAuthorizationBatchResult result) {
+        if(result == null || result.isServerError()) {
+            return authorize(request);
+        }
+        if(result.isClientError()) {
+            return CompletableFuture.completedFuture(PaymentAuthorization.declined(
+                    request.transactionId(),
+                    String.format("Payment gateway rejected the item with status %s. %s", result.status(), result.message())
+            ));
+        }
+        return CompletableFuture.completedFuture(result.toAuthorization());
+    }
+
+    // A 404 means the gateway holds no authorization for the transaction, so there is nothing to release.
+    private void validateVoid(String transactionId, HttpResponse<byte[]> response) {
+        if(response.statusCode() >= 400 && response.statusCode() != HTTP_NOT_FOUND) {
+            throw new ValidationException(String.format(
+                    "Payment gateway answered with status %s voiding transaction %s", response.statusCode(), transactionId
+            ));
+        }
+    }
+
+    private boolean isRejected(HttpResponse<byte[]> response) {
+        if(response.statusCode() >= 500) {
+            throw new ValidationException(String.format(
+                    "Payment gateway answered with status %s", response.statusCode()
+            ));
+        }
+        return response.statusCode() >= 400;
+    }
+
+    private String rejectionMessage(HttpResponse<byte[]> response) {
+        return String.format("Payment gateway rejected the request with status %s", response.statusCode());
+    }
+}
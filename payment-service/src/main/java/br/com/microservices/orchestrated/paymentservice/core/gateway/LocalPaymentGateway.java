@@ -0,0 +1,30 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "local", matchIfMissing = true)
+public class LocalPaymentGateway implements PaymentGateway {
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+        return CompletableFuture.completedFuture(PaymentAuthorization.approved(request.transactionId()));
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String transactionId) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<PaymentAuthorizationRequest> requests) {
+        return CompletableFuture.completedFuture(requests
+                .stream()
+                .map(request -> PaymentAuthorization.approved(request.transactionId()))
+                .toList());
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+public record PaymentAuthorization(String transactionId, boolean approved, String message) {
+
+    public static PaymentAuthorization approved(String transactionId) {
+        return new PaymentAuthorization(transactionId, true, "Authorized");
+    }
+
+    public static PaymentAuthorization declined(String transactionId, String message) {
+        return new PaymentAuthorization(transactionId, false, message);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+
+public record PaymentAuthorizationBatchItem(String idempotencyKey,
+                                            String orderId,
+                                            String transactionId,
+                                            int totalItems,
+                                            Money totalAmount) {
+
+    public static PaymentAuthorizationBatchItem of(PaymentAuthorizationRequest request) {
+        return new PaymentAuthorizationBatchItem(
+                request.transactionId(),
+                request.orderId(),
+                request.transactionId(),
+                request.totalItems(),
+                request.totalAmount()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+// Status is the item-level HTTP status. Gateways that leave it out only answer with authorized or declined items.
+public record PaymentAuthorizationBatchResult(String transactionId, int status, boolean approved, String message) {
+    private static final int HTTP_OK = 200;
+
+    public static PaymentAuthorizationBatchResult of(PaymentAuthorization authorization) {
+        return new PaymentAuthorizationBatchResult(
+                authorization.transactionId(),
+                HTTP_OK,
+                authorization.approved(),
+                authorization.message()
+        );
+    }
+
+    public boolean isClientError() {
+        return status >= 400 && status < 500;
+    }
+
+    public boolean isServerError() {
+        return status >= 500;
+    }
+
+    public PaymentAuthorization toAuthorization() {
+        return new PaymentAuthorization(transactionId, approved, message);
+    }
+}
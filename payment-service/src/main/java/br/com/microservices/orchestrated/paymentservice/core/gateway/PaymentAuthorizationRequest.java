@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+
+public record PaymentAuthorizationRequest(String orderId, String transactionId, int totalItems, Money totalAmount) {
+}
@@ -0,0 +1,26 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentGateway {
+
+    CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request);
+
+    // Releases the hold of an authorization, keyed by its transaction. Voiding a transaction the gateway
+    // never authorized, or already voided, completes normally so compensations can be retried.
+    CompletableFuture<Void> voidAuthorization(String transactionId);
+
+    default CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<PaymentAuthorizationRequest> requests) {
+        var authorizations = requests
+                .stream()
+                .map(this::authorize)
+                .toList();
+        return CompletableFuture
+                .allOf(authorizations.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> authorizations
+                        .stream()
+                        .map(CompletableFuture::join)
+                        .toList());
+    }
+}
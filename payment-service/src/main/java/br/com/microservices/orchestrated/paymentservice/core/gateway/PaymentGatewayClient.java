@@ -0,0 +1,145 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.utils.MicroBatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentGatewayClient {
+    private static final String CIRCUIT_BREAKER_NAME = "payment-gateway";
+    private static final String BATCHER_NAME = "payment-authorization";
+
+    private final PaymentGateway paymentGateway;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.gateway.timeout-ms}")
+    private long timeoutMs;
+    @Value("${payment.gateway.bulkhead.max-concurrent-calls}")
+    private int maxConcurrentCalls;
+    @Value("${payment.gateway.bulkhead.max-wait-ms}")
+    private long maxWaitMs;
+    @Value("${payment.gateway.circuit-breaker.failure-threshold}")
+    private int failureThreshold;
+    @Value("${payment.gateway.circuit-breaker.open-duration-ms}")
+    private long openDurationMs;
+    @Value("${payment.gateway.batch.enabled}")
+    private boolean batchEnabled;
+    @Value("${payment.gateway.batch.max-size}")
+    private int batchMaxSize;
+    @Value("${payment.gateway.batch.linger-ms}")
+    private long batchLingerMs;
+    @Value("${payment.gateway.batch.queue-capacity}")
+    private int batchQueueCapacity;
+
+    private Semaphore bulkhead;
+    private CircuitBreaker circuitBreaker;
+    private MicroBatcher<PaymentAuthorizationRequest, PaymentAuthorization> batcher;
+
+    @PostConstruct
+    public void init() {
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new CircuitBreaker(CIRCUIT_BREAKER_NAME, failureThreshold, openDurationMs);
+        if(batchEnabled) {
+            batcher = new MicroBatcher<>(
+                    BATCHER_NAME,
+                    batchMaxSize,
+                    batchLingerMs,
+                    batchQueueCapacity,
+                    this::authorizeBatch,
+                    meterRegistry
+            );
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if(batcher != null) {
+            batcher.close();
+        }
+    }
+
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+        if(batcher != null) {
+            return batcher.submit(request);
+        }
+        return guard(
+                String.format("transaction %s", request.transactionId()),
+                () -> paymentGateway.authorize(request)
+        );
+    }
+
+    public CompletableFuture<Void> voidAuthorization(String transactionId) {
+        return guard(
+                String.format("void of transaction %s", transactionId),
+                () -> paymentGateway.voidAuthorization(transactionId)
+        );
+    }
+
+    private CompletableFuture<List<PaymentAuthorization>> authorizeBatch(List<PaymentAuthorizationRequest> requests) {
+        return guard(
+                String.format("batch of %s transactions", requests.size()),
+                () -> paymentGateway.authorizeBatch(requests)
+        );
+    }
+
+    private <R> CompletableFuture<R> guard(String description, Supplier<CompletableFuture<R>> call) {
+        if(!acquireBulkhead()) {
+            return CompletableFuture.failedFuture(new ValidationException(String.format(
+                    "Payment gateway bulkhead is full. More than %s calls in flight.", maxConcurrentCalls
+            )));
+        }
+        if(!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(
+                    new ValidationException("Payment gateway is unavailable. Circuit breaker is open.")
+            );
+        }
+        return callGateway(call)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, throwable) -> {
+                    bulkhead.release();
+                    if(throwable != null) {
+                        log.error("Payment gateway call failed for {}", description, throwable);
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                });
+    }
+
+    // Waiting blocks the calling thread, which is the Kafka listener or the batcher thread,
+    // so the default max-wait-ms of 0 fails fast when the bulkhead is full.
+    private boolean acquireBulkhead() {
+        if(maxWaitMs <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <R> CompletableFuture<R> callGateway(Supplier<CompletableFuture<R>> call) {
+        try {
+            return call.get();
+        } catch(Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
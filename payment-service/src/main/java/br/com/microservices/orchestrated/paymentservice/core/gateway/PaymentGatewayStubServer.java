@@ -0,0 +1,117 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.gateway.stub.enabled", havingValue = "true")
+public class PaymentGatewayStubServer {
+    private static final String AUTHORIZATIONS_PATH = "/authorizations";
+    private static final String BATCH_AUTHORIZATIONS_PATH = "/authorizations/batch";
+    private static final String VOID_SUFFIX = "/void";
+    private static final TypeReference<List<PaymentAuthorizationBatchItem>> BATCH_ITEM_LIST = new TypeReference<>() {
+    };
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.gateway.stub.port}")
+    private int port;
+    @Value("${payment.gateway.stub.latency-ms}")
+    private long latencyMs;
+    @Value("${payment.gateway.stub.threads}")
+    private int threads;
+
+    private HttpServer server;
+    private ScheduledExecutorService responder;
+
+    @PostConstruct
+    public void start() throws IOException {
+        responder = Executors.newScheduledThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(AUTHORIZATIONS_PATH, this::handleAuthorization);
+        server.createContext(BATCH_AUTHORIZATIONS_PATH, this::handleBatchAuthorization);
+        server.setExecutor(responder);
+        server.start();
+        log.info("Payment gateway stub listening on port {} with {}ms latency", port, latencyMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void handleAuthorization(HttpExchange exchange) throws IOException {
+        if(!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, HTTP_METHOD_NOT_ALLOWED, new byte[0]);
+            return;
+        }
+        if(exchange.getRequestURI().getPath().endsWith(VOID_SUFFIX)) {
+            responder.schedule(() -> respond(exchange, HTTP_OK, new byte[0]), latencyMs, TimeUnit.MILLISECONDS);
+            return;
+        }
+        PaymentAuthorizationRequest request;
+        try(var body = exchange.getRequestBody()) {
+            request = objectMapper.readValue(body, PaymentAuthorizationRequest.class);
+        } catch(Exception e) {
+            respond(exchange, HTTP_BAD_REQUEST, new byte[0]);
+            return;
+        }
+        var response = objectMapper.writeValueAsBytes(PaymentAuthorization.approved(request.transactionId()));
+        responder.schedule(() -> respond(exchange, HTTP_OK, response), latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void handleBatchAuthorization(HttpExchange exchange) throws IOException {
+        if(!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, HTTP_METHOD_NOT_ALLOWED, new byte[0]);
+            return;
+        }
+        List<PaymentAuthorizationBatchItem> items;
+        try(var body = exchange.getRequestBody()) {
+            items = objectMapper.readValue(body, BATCH_ITEM_LIST);
+        } catch(Exception e) {
+            respond(exchange, HTTP_BAD_REQUEST, new byte[0]);
+            return;
+        }
+        var response = objectMapper.writeValueAsBytes(items
+                .stream()
+                .map(item -> PaymentAuthorizationBatchResult.of(PaymentAuthorization.approved(item.transactionId())))
+                .toList());
+        responder.schedule(() -> respond(exchange, HTTP_OK, response), latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) {
+        try {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            if(body.length > 0) {
+                exchange.getResponseBody().write(body);
+            }
+        } catch(Exception e) {
+            log.error("Payment gateway stub failed to respond", e);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package br.com.microservices.orchestrated.paymentservice.core.model;
 
+import br.com.microservices.orchestrated.paymentservice.config.jpa.MoneyConverter;
+import br.com.microservices.orchestrated.paymentservice.config.jpa.PooledSequenceGenerator;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
 import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
@@ -14,10 +20,18 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"order_id", "transaction_id"})
+)
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "payment_seq")
+    @GenericGenerator(
+            name = "payment_seq",
+            type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "payment_seq")
+    )
     private Integer id;
 
     @Column(nullable = false)
@@ -33,8 +47,9 @@ public class Payment {
     @Column(nullable = false)
     private int totalItems;
 
-    @Column(nullable = false)
-    private double totalAmount;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_amount_cents", nullable = false)
+    private Money totalAmount;
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -42,6 +57,9 @@ public class Payment {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Column(columnDefinition = "text")
+    private String pendingEvent;
+
     @PrePersist
     private void prePersist() {
         var now = LocalDateTime.now();
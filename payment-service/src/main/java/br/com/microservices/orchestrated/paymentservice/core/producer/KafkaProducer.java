@@ -1,26 +1,52 @@
 package br.com.microservices.orchestrated.paymentservice.core.producer;
 
+import br.com.microservices.orchestrated.paymentservice.config.jfr.KafkaPublishEvent;
+import br.com.microservices.orchestrated.paymentservice.core.transport.EventTransport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventTransport eventTransport;
 
     @Value("${spring.kafka.topic.orchestrator}")
     private String topic;
 
     public void sendEvent(String payload) {
+        var publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
         try {
-            kafkaTemplate.send(topic, payload);
+            eventTransport.send(topic, payload);
             log.info("{} sent to topic {}", payload, topic);
         } catch (Exception e) {
             log.error("Failed to send {} to topic {}", payload, topic);
+            throw e;
+        } finally {
+            if(publishEvent.isEnabled()) {
+                publishEvent.complete(topic, 1, payload.length());
+            }
+        }
+    }
+
+    public void sendEvents(List<String> payloads) {
+        var publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
+        try {
+            eventTransport.sendAll(topic, payloads);
+            log.info("{} events sent to topic {}", payloads.size(), topic);
+        } catch (Exception e) {
+            log.error("Failed to send {} events to topic {}", payloads.size(), topic);
+            throw e;
+        } finally {
+            if(publishEvent.isEnabled()) {
+                publishEvent.complete(topic, payloads.size(), payloads.stream().mapToLong(String::length).sum());
+            }
         }
     }
 }
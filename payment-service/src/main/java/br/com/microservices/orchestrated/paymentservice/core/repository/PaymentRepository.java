@@ -2,10 +2,62 @@ package br.com.microservices.orchestrated.paymentservice.core.repository;
 
 import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Integer> {
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
+public interface PaymentRepository extends JpaRepository<Payment, Integer>, PaymentRepositoryCustom {
     Optional<Payment> findByOrderIdAndTransactionId(String orderId, String transactionId);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO payment (id, order_id, transaction_id, status, total_items, total_amount_cents,
+                                 pending_event, created_at, updated_at)
+            VALUES (nextval('payment_seq'), :orderId, :transactionId, :status, :totalItems, :totalAmountCents,
+                    :pendingEvent, :now, :now)
+            ON CONFLICT (order_id, transaction_id) DO NOTHING
+            RETURNING id
+            """)
+    Optional<Integer> insertIfAbsent(@Param("orderId") String orderId,
+                                     @Param("transactionId") String transactionId,
+                                     @Param("status") String status,
+                                     @Param("totalItems") int totalItems,
+                                     @Param("totalAmountCents") long totalAmountCents,
+                                     @Param("pendingEvent") String pendingEvent,
+                                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE payment
+               SET status = CASE WHEN status = 'PENDING' THEN :status ELSE status END,
+                   pending_event = NULL,
+                   updated_at = :now
+             WHERE order_id = :orderId AND transaction_id = :transactionId
+            """)
+    int completePending(@Param("orderId") String orderId,
+                        @Param("transactionId") String transactionId,
+                        @Param("status") String status,
+                        @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE payment
+               SET updated_at = :now
+             WHERE id IN (SELECT id
+                            FROM payment
+                           WHERE pending_event IS NOT NULL AND updated_at < :staleBefore
+                           ORDER BY updated_at
+                           LIMIT :limit
+                             FOR UPDATE SKIP LOCKED)
+            RETURNING pending_event
+            """)
+    List<String> claimStalePendingEvents(@Param("staleBefore") LocalDateTime staleBefore,
+                                         @Param("limit") int limit,
+                                         @Param("now") LocalDateTime now);
 }
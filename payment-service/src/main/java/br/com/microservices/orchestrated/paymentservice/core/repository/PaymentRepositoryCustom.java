@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.paymentservice.core.repository;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.PaymentKey;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface PaymentRepositoryCustom {
+    Set<PaymentKey> updateStatuses(Collection<PaymentKey> keys, EPaymentStatus status);
+}
@@ -0,0 +1,58 @@
+package br.com.microservices.orchestrated.paymentservice.core.repository;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.PaymentKey;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@AllArgsConstructor
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+    private static final String UPDATE_STATUSES_SQL = """
+            UPDATE payment
+               SET status = ?, updated_at = ?
+             WHERE (order_id, transaction_id) IN (%s)
+            RETURNING order_id, transaction_id
+            """;
+    private static final String KEY_PLACEHOLDER = "(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Set<PaymentKey> updateStatuses(Collection<PaymentKey> keys, EPaymentStatus status) {
+        var updated = new HashSet<PaymentKey>();
+        if(isEmpty(keys)) {
+            return updated;
+        }
+        var placeholders = keys
+                .stream()
+                .map(key -> KEY_PLACEHOLDER)
+                .collect(Collectors.joining(", "));
+        var args = new ArrayList<Object>(keys.size() * 2 + 2);
+        args.add(status.name());
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        keys.forEach(key -> {
+            args.add(key.orderId());
+            args.add(key.transactionId());
+        });
+        jdbcTemplate.query(
+                String.format(UPDATE_STATUSES_SQL, placeholders),
+                rs -> {
+                    updated.add(new PaymentKey(rs.getString("order_id"), rs.getString("transaction_id")));
+                },
+                args.toArray()
+        );
+        return updated;
+    }
+}
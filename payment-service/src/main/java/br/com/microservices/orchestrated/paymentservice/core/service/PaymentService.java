@@ -1,112 +1,276 @@
 package br.com.microservices.orchestrated.paymentservice.core.service;
 
 import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.claimcheck.ClaimCheckResolver;
 import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
 import br.com.microservices.orchestrated.paymentservice.core.dto.History;
-import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderTotals;
+import br.com.microservices.orchestrated.paymentservice.core.dto.PaymentKey;
 import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.paymentservice.core.gateway.PaymentAuthorization;
+import br.com.microservices.orchestrated.paymentservice.core.gateway.PaymentAuthorizationRequest;
+import br.com.microservices.orchestrated.paymentservice.core.gateway.PaymentGatewayClient;
 import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
 import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentRepository;
 import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class PaymentService {
     private static final String CURRENT_SOURCE = "PAYMENT_SERVICE";
-    private static final Double MINIMUN_AMOUNT_VALUE = 0.1;
-    private static final Double REDUCE_SUM_VALUE = 0.0;
+    private static final Money MINIMUN_AMOUNT_VALUE = Money.ofCents(10);
+    private static final String AUTHORIZATION_TIMER = "saga.payment.authorization";
 
     private final JsonUtil jsonUtil;
     private final PaymentRepository paymentRepository;
     private final KafkaProducer producer;
+    private final PaymentGatewayClient gatewayClient;
+    private final ThreadPoolTaskExecutor paymentCallbackExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ClaimCheckResolver claimCheckResolver;
 
+    @Value("${payment.recovery.stale-after-ms}")
+    private long recoveryStaleAfterMs;
+    @Value("${payment.recovery.batch-size}")
+    private int recoveryBatchSize;
+
+    @Timed("saga.step")
     public void realizePayment(Event event) {
         try {
             validateEvent(event);
-            checkCurrentPayment(event);
-            createPayment(event);
-            var payment = findPaymentByOrderIdAndTransactionId(event);
-            validateTotalAmount(payment.getTotalAmount());
-            updatePaymentStatus(event, EPaymentStatus.SUCCESS);
+            var payment = createPayment(event);
+            if(!isValidTotalAmount(payment.getTotalAmount())) {
+                insertPayment(payment, null);
+                validateTotalAmount(payment.getTotalAmount());
+            }
+            insertPayment(payment, jsonUtil.toJson(event));
+            authorize(event, payment);
+        } catch(Exception e) {
+            log.error("Error trying to realize payment: ", e);
+            handleFail(event, e.getMessage());
+            producer.sendEvent(jsonUtil.toJson(event));
+        }
+    }
+
+    // The listener offset is committed once realizePayment returns, before the gateway answers.
+    // Until completePayment publishes the outcome, the payment row keeps the event in pending_event,
+    // so recoverPendingPayments can authorize it again and finish the step. Every authorization carries the
+    // transaction id as idempotency key, alone or inside a batch, so the retry can't charge the payment twice.
+    private void authorize(Event event, Payment payment) {
+        var sample = Timer.start(meterRegistry);
+        var context = ContextSnapshot.captureAll();
+        gatewayClient
+                .authorize(toAuthorizationRequest(payment))
+                .whenCompleteAsync(
+                        (authorization, throwable) -> {
+                            sample.stop(authorizationTimer(authorization, throwable));
+                            try(var scope = context.setThreadLocals()) {
+                                completePayment(event, payment, authorization, throwable);
+                            }
+                        },
+                        paymentCallbackExecutor
+                );
+    }
+
+    private void completePayment(Event event,
+                                 Payment payment,
+                                 PaymentAuthorization authorization,
+                                 Throwable throwable) {
+        try {
+            validateAuthorization(authorization, throwable);
+            payment.setStatus(EPaymentStatus.SUCCESS);
             handleSuccess(event);
         } catch(Exception e) {
             log.error("Error trying to realize payment: ", e);
             handleFail(event, e.getMessage());
         }
+        if(throwable != null) {
+            voidAuthorization(payment);
+        }
 
         producer.sendEvent(jsonUtil.toJson(event));
+        completePending(payment);
     }
 
-    public void realizeRefund(Event event) {
+    // A timed out or failed call may still have been authorized on the gateway side, so the hold is
+    // released right away. The failure is logged by the client, and the refund step voids it again.
+    private void voidAuthorization(Payment payment) {
+        gatewayClient.voidAuthorization(payment.getTransactionId());
+    }
+
+    private void completePending(Payment payment) {
         try {
-            updatePaymentStatus(event, EPaymentStatus.REFUND);
-            handleRollback(event, "Refund realized successfully.");
+            paymentRepository.completePending(
+                    payment.getOrderId(),
+                    payment.getTransactionId(),
+                    payment.getStatus().name(),
+                    LocalDateTime.now()
+            );
         } catch(Exception e) {
-            handleRollback(event, "Failed to realize refund. ".concat(e.getMessage()));
+            log.error("Error trying to complete pending payment. OrderID: {} - TransactionID: {}",
+                    payment.getOrderId(), payment.getTransactionId(), e);
         }
     }
 
-    private void validateEvent(Event event) {
-        if(isEmpty(event.getOrderId()) || isEmpty(event.getTransactionId())) {
-            throw new ValidationException("OrderID and TransactionID should not be empty");
+    @Scheduled(
+            initialDelayString = "${payment.recovery.interval-ms}",
+            fixedDelayString = "${payment.recovery.interval-ms}"
+    )
+    public void recoverPendingPayments() {
+        try {
+            var now = LocalDateTime.now();
+            var pendingEvents = paymentRepository.claimStalePendingEvents(
+                    now.minus(recoveryStaleAfterMs, ChronoUnit.MILLIS),
+                    recoveryBatchSize,
+                    now
+            );
+            for(var pendingEvent : pendingEvents) {
+                var event = jsonUtil.toEvent(pendingEvent);
+                if(event == null) {
+                    continue;
+                }
+                log.warn("Recovering pending payment. OrderID: {} - TransactionID: {}",
+                        event.getOrderId(), event.getTransactionId());
+                authorize(event, recoveredPayment(event));
+            }
+        } catch(Exception e) {
+            log.error("Error trying to recover pending payments: ", e);
         }
     }
 
-    private void checkCurrentPayment(Event event) {
-        if(paymentRepository.existsByOrderIdAndTransactionId(
-                event.getOrderId(),
-                event.getTransactionId()
-        )) {
-            throw new ValidationException(String.format(
-                    "There's another transaction for this validation. OrderID: %s - TransactionID: %s",
-                    event.getOrderId(),
-                    event.getTransactionId()
-            ));
+    // Called with one Kafka poll of rollback events. A failure in the status update, in voiding the
+    // gateway authorizations or in the publish propagates to the listener container, which redelivers
+    // the whole poll instead of committing it. Each of those steps is safe to repeat.
+    @Timed("saga.step")
+    public void realizeRefunds(List<Event> events) {
+        if(events.isEmpty()) {
+            return;
+        }
+        var refundedKeys = paymentRepository.updateStatuses(
+                events.stream().map(PaymentKey::of).toList(),
+                EPaymentStatus.REFUND
+        );
+        voidAuthorizations(refundedKeys);
+        events.forEach(event -> {
+            if(refundedKeys.contains(PaymentKey.of(event))) {
+                handleRollback(event, EHistoryStep.PAYMENT_ROLLBACK, null);
+            } else {
+                handleRollback(event, EHistoryStep.PAYMENT_ROLLBACK_FAIL, "Payment not found");
+            }
+        });
+        producer.sendEvents(events.stream().map(jsonUtil::toJson).toList());
+    }
+
+    private void voidAuthorizations(Set<PaymentKey> keys) {
+        var voids = keys
+                .stream()
+                .map(key -> gatewayClient.voidAuthorization(key.transactionId()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(voids).join();
+    }
+
+    private Timer authorizationTimer(PaymentAuthorization authorization, Throwable throwable) {
+        var outcome = throwable != null ? "error" : authorization.approved() ? "approved" : "declined";
+        return Timer
+                .builder(AUTHORIZATION_TIMER)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private PaymentAuthorizationRequest toAuthorizationRequest(Payment payment) {
+        return new PaymentAuthorizationRequest(
+                payment.getOrderId(),
+                payment.getTransactionId(),
+                payment.getTotalItems(),
+                payment.getTotalAmount()
+        );
+    }
+
+    private void validateAuthorization(PaymentAuthorization authorization, Throwable throwable) {
+        if(throwable != null) {
+            var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if(cause instanceof TimeoutException) {
+                throw new ValidationException("Payment gateway did not answer in time.");
+            }
+            throw new ValidationException("Payment gateway authorization failed. ".concat(String.valueOf(cause.getMessage())));
+        }
+        if(!authorization.approved()) {
+            throw new ValidationException("Payment was declined by the gateway. ".concat(authorization.message()));
         }
     }
 
-    private void savePayment(Payment payment) {
-        paymentRepository.save(payment);
+    private void validateEvent(Event event) {
+        if(isEmpty(event.getOrderId()) || isEmpty(event.getTransactionId())) {
+            throw new ValidationException("OrderID and TransactionID should not be empty");
+        }
     }
 
-    private void createPayment(Event event) {
+    private Payment createPayment(Event event) {
+        var totals = OrderTotals.of(claimCheckResolver.getProducts(event.getPayload()));
         var payment = Payment
                 .builder()
                 .orderId(event.getOrderId())
                 .transactionId(event.getTransactionId())
-                .totalItems(calculateTotalItems(event))
-                .totalAmount(calculateTotalAmount(event))
+                .totalItems(totals.totalItems())
+                .totalAmount(totals.totalAmount())
+                .status(EPaymentStatus.PENDING)
                 .build();
-        savePayment(payment);
         updateEventTotal(event, payment);
+        return payment;
     }
 
-    private Integer calculateTotalItems(Event event) {
-        return event
-                .getPayload()
-                .getProducts()
-                .stream()
-                .map(OrderProduct::getQuantity)
-                .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum);
+    private Payment recoveredPayment(Event event) {
+        return Payment
+                .builder()
+                .orderId(event.getOrderId())
+                .transactionId(event.getTransactionId())
+                .totalItems(event.getPayload().getTotalItems())
+                .totalAmount(event.getPayload().getTotalAmount())
+                .status(EPaymentStatus.PENDING)
+                .build();
     }
 
-    private Double calculateTotalAmount(Event event) {
-        return event
-                .getPayload()
-                .getProducts()
-                .stream()
-                .map(orderProduct -> orderProduct.getQuantity() * orderProduct.getProduct().getUnitValue())
-                .reduce(REDUCE_SUM_VALUE, Double::sum);
+    private void insertPayment(Payment payment, String pendingEvent) {
+        paymentRepository
+                .insertIfAbsent(
+                        payment.getOrderId(),
+                        payment.getTransactionId(),
+                        payment.getStatus().name(),
+                        payment.getTotalItems(),
+                        payment.getTotalAmount().cents(),
+                        pendingEvent,
+                        LocalDateTime.now()
+                )
+                .orElseThrow(() -> new ValidationException(String.format(
+                        "There's another transaction for this validation. OrderID: %s - TransactionID: %s",
+                        payment.getOrderId(),
+                        payment.getTransactionId()
+                )));
     }
 
     private void updateEventTotal(Event event, Payment payment) {
@@ -114,52 +278,47 @@ public class PaymentService {
         event.getPayload().setTotalAmount(payment.getTotalAmount());
     }
 
-    private Payment findPaymentByOrderIdAndTransactionId(Event event) {
-        return paymentRepository.findByOrderIdAndTransactionId(
-                event.getOrderId(),
-                event.getTransactionId()
-        ).orElseThrow(() -> new ValidationException("Payment not found"));
+    private boolean isValidTotalAmount(Money amount) {
+        return !amount.isLessThan(MINIMUN_AMOUNT_VALUE);
     }
 
-    private void validateTotalAmount(Double amount) {
-        if(amount < MINIMUN_AMOUNT_VALUE) {
+    private void validateTotalAmount(Money amount) {
+        if(!isValidTotalAmount(amount)) {
             throw new ValidationException("Total amount must be greater than ".concat(MINIMUN_AMOUNT_VALUE.toString()));
         }
     }
 
-    private void addToHistory(Event event, String message) {
+    private void addToHistory(Event event, EHistoryStep step) {
+        addToHistory(event, step, null);
+    }
+
+    private void addToHistory(Event event, EHistoryStep step, String detail) {
         var history = History
                 .builder()
                 .source(CURRENT_SOURCE)
                 .status(event.getStatus())
-                .message(message)
+                .step(step)
+                .detail(detail)
                 .createdAt(LocalDateTime.now())
                 .build();
         event.addToEventHistory(history);
     }
 
-    private void updatePaymentStatus(Event event, EPaymentStatus status) {
-        var payment = findPaymentByOrderIdAndTransactionId(event);
-        payment.setStatus(status);
-        savePayment(payment);
-    }
-
     private void handleSuccess(Event event) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.SUCCESS);
-        addToHistory(event, "Payment realized successfully.");
+        addToHistory(event, EHistoryStep.PAYMENT_SUCCESS);
     }
 
     private void handleFail(Event event, String message) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
-        addToHistory(event, String.format("Fail to realize payment. %s", message));
+        addToHistory(event, EHistoryStep.PAYMENT_FAIL, message);
     }
 
-    private void handleRollback(Event event, String message) {
+    private void handleRollback(Event event, EHistoryStep step, String detail) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.FAIL);
-        addToHistory(event, message);
-        producer.sendEvent(jsonUtil.toJson(event));
+        addToHistory(event, step, detail);
     }
 }
@@ -0,0 +1,15 @@
+package br.com.microservices.orchestrated.paymentservice.core.transport;
+
+import java.util.List;
+
+public interface EventTransport {
+    void send(String topic, String payload);
+
+    default void sendAll(String topic, List<String> payloads) {
+        payloads.forEach(payload -> send(topic, payload));
+        flush();
+    }
+
+    default void flush() {
+    }
+}
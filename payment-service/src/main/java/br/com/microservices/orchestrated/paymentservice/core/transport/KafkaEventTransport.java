@@ -0,0 +1,36 @@
+package br.com.microservices.orchestrated.paymentservice.core.transport;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "saga.transport.type", havingValue = "kafka", matchIfMissing = true)
+public class KafkaEventTransport implements EventTransport {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Override
+    public void send(String topic, String payload) {
+        kafkaTemplate.send(topic, payload);
+    }
+
+    @Override
+    public void sendAll(String topic, List<String> payloads) {
+        var sends = payloads
+                .stream()
+                .map(payload -> kafkaTemplate.send(topic, payload))
+                .toArray(CompletableFuture[]::new);
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(sends).join();
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
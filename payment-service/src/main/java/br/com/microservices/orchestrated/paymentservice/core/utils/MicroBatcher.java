@@ -0,0 +1,164 @@
+package br.com.microservices.orchestrated.paymentservice.core.utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+public class MicroBatcher<T, R> {
+    private static final String BATCHER_TAG = "batcher";
+    private static final long IDLE_POLL_MS = 100;
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<Entry<T, R>> queue;
+    private final Function<List<T>, CompletableFuture<List<R>>> handler;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary batchFillRatio;
+    private final Timer lingerTimer;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public MicroBatcher(String name,
+                        int maxBatchSize,
+                        long lingerMs,
+                        int queueCapacity,
+                        Function<List<T>, CompletableFuture<List<R>>> handler,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.handler = handler;
+        this.batchSize = DistributionSummary
+                .builder("micro.batch.size")
+                .tag(BATCHER_TAG, name)
+                .register(meterRegistry);
+        this.batchFillRatio = DistributionSummary
+                .builder("micro.batch.fill.ratio")
+                .tag(BATCHER_TAG, name)
+                .register(meterRegistry);
+        this.lingerTimer = Timer
+                .builder("micro.batch.linger")
+                .tag(BATCHER_TAG, name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.dispatcher = new Thread(this::run, name.concat("-batcher"));
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        var entry = new Entry<T, R>(item, new CompletableFuture<>(), System.nanoTime());
+        try {
+            queue.put(entry);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entry.result().completeExceptionally(e);
+        }
+        return entry.result();
+    }
+
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var remaining = new ArrayList<Entry<T, R>>();
+        queue.drainTo(remaining);
+        for(var i = 0; i < remaining.size(); i += maxBatchSize) {
+            dispatch(remaining.subList(i, Math.min(i + maxBatchSize, remaining.size())));
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<Entry<T, R>>(maxBatchSize);
+        while(running) {
+            try {
+                var first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if(first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch, first.enqueuedAt() + lingerNanos);
+                dispatch(List.copyOf(batch));
+            } catch(InterruptedException e) {
+                if(!batch.isEmpty()) {
+                    dispatch(List.copyOf(batch));
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } catch(Exception e) {
+                log.error("Micro batcher {} failed to dispatch a batch", name, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<Entry<T, R>> batch, long deadline) throws InterruptedException {
+        while(batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if(batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if(next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void dispatch(List<Entry<T, R>> batch) {
+        var now = System.nanoTime();
+        var items = new ArrayList<T>(batch.size());
+        for(var entry : batch) {
+            items.add(entry.item());
+            lingerTimer.record(now - entry.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        batchSize.record(batch.size());
+        batchFillRatio.record((double) batch.size() / maxBatchSize);
+        callHandler(items).whenComplete((results, throwable) -> complete(batch, results, throwable));
+    }
+
+    private CompletableFuture<List<R>> callHandler(List<T> items) {
+        try {
+            return handler.apply(items);
+        } catch(Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void complete(List<Entry<T, R>> batch, List<R> results, Throwable throwable) {
+        if(throwable == null && results.size() != batch.size()) {
+            throwable = new IllegalStateException(String.format(
+                    "Batch %s returned %s results for %s items", name, results.size(), batch.size()
+            ));
+        }
+        for(var i = 0; i < batch.size(); i++) {
+            if(throwable != null) {
+                batch.get(i).result().completeExceptionally(throwable);
+            } else {
+                batch.get(i).result().complete(results.get(i));
+            }
+        }
+    }
+
+    private record Entry<T, R>(T item, CompletableFuture<R> result, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpPaymentGatewayTest {
+    private static final TypeReference<List<PaymentAuthorizationBatchItem>> BATCH_ITEM_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<List<PaymentAuthorizationBatchItem>> batchRequests = new CopyOnWriteArrayList<>();
+    private final List<String> batchIdempotencyKeys = new CopyOnWriteArrayList<>();
+    private final Map<String, String> singleIdempotencyKeys = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private HttpPaymentGateway gateway;
+    private Function<List<PaymentAuthorizationBatchItem>, Object> batchResponder;
+    private int batchStatus;
+    private int singleRejectionStatus;
+    private String rejectedTransactionId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/authorizations", this::handleSingle);
+        server.createContext("/authorizations/batch", this::handleBatch);
+        server.start();
+        gateway = new HttpPaymentGateway(HttpClient.newHttpClient(), objectMapper);
+        ReflectionTestUtils.setField(gateway, "gatewayUrl", "http://localhost:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(gateway, "timeoutMs", 5000L);
+        batchStatus = 200;
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsTheTransactionIdAsIdempotencyKeyOfEveryBatchItem() {
+        batchResponder = items -> items
+                .stream()
+                .map(item -> PaymentAuthorizationBatchResult.of(PaymentAuthorization.approved(item.transactionId())))
+                .toList();
+
+        var authorizations = gateway.authorizeBatch(List.of(request("transaction-1"), request("transaction-2"))).join();
+
+        assertTrue(authorizations.stream().allMatch(PaymentAuthorization::approved));
+        var items = batchRequests.get(0);
+        assertEquals(List.of("transaction-1", "transaction-2"), items.stream().map(PaymentAuthorizationBatchItem::idempotencyKey).toList());
+        assertNull(batchIdempotencyKeys.get(0));
+        assertTrue(singleIdempotencyKeys.isEmpty());
+    }
+
+    @Test
+    void mapsItemLevelErrorsAndRetriesFailedOrMissingItemsAlone() {
+        batchResponder = items -> List.of(
+                PaymentAuthorizationBatchResult.of(PaymentAuthorization.approved("approved")),
+                new PaymentAuthorizationBatchResult("invalid", 422, false, "Invalid card"),
+                new PaymentAuthorizationBatchResult("unavailable", 503, false, "Issuer unavailable")
+        );
+
+        var authorizations = gateway.authorizeBatch(List.of(
+                request("approved"),
+                request("invalid"),
+                request("unavailable"),
+                request("missing")
+        )).join();
+
+        assertEquals(List.of("approved", "invalid", "unavailable", "missing"),
+                authorizations.stream().map(PaymentAuthorization::transactionId).toList());
+        assertTrue(authorizations.get(0).approved());
+        assertFalse(authorizations.get(1).approved());
+        assertTrue(authorizations.get(1).message().contains("Invalid card"));
+        assertTrue(authorizations.get(2).approved());
+        assertTrue(authorizations.get(3).approved());
+        assertEquals(Map.of("unavailable", "unavailable", "missing", "missing"), singleIdempotencyKeys);
+    }
+
+    @Test
+    void authorizesItemsOneByOneWhenTheBatchIsRejected() {
+        batchStatus = 400;
+        singleRejectionStatus = 422;
+        rejectedTransactionId = "invalid";
+
+        var authorizations = gateway.authorizeBatch(List.of(request("valid"), request("invalid"))).join();
+
+        assertTrue(authorizations.get(0).approved());
+        assertFalse(authorizations.get(1).approved());
+        assertEquals(Map.of("valid", "valid", "invalid", "invalid"), singleIdempotencyKeys);
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        List<PaymentAuthorizationBatchItem> items;
+        try(var body = exchange.getRequestBody()) {
+            items = objectMapper.readValue(body, BATCH_ITEM_LIST);
+        }
+        batchRequests.add(items);
+        batchIdempotencyKeys.add(exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+        if(batchStatus != 200) {
+            respond(exchange, batchStatus, new byte[0]);
+            return;
+        }
+        respond(exchange, 200, objectMapper.writeValueAsBytes(batchResponder.apply(items)));
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        PaymentAuthorizationRequest request;
+        try(var body = exchange.getRequestBody()) {
+            request = objectMapper.readValue(body, PaymentAuthorizationRequest.class);
+        }
+        singleIdempotencyKeys.put(request.transactionId(), exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+        if(request.transactionId().equals(rejectedTransactionId)) {
+            respond(exchange, singleRejectionStatus, new byte[0]);
+            return;
+        }
+        respond(exchange, 200, objectMapper.writeValueAsBytes(PaymentAuthorization.approved(request.transactionId())));
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if(body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private PaymentAuthorizationRequest request(String transactionId) {
+        return new PaymentAuthorizationRequest("order-1", transactionId, 1, Money.ofCents(1000));
+    }
+}
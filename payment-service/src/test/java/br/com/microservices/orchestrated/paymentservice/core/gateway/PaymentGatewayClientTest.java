@@ -0,0 +1,139 @@
+package br.com.microservices.orchestrated.paymentservice.core.gateway;
+
+import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+import br.com.microservices.orchestrated.paymentservice.core.enums.ECircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PaymentGatewayClientTest {
+    private static final int FAILURE_THRESHOLD = 2;
+    private static final long OPEN_DURATION_MS = 100;
+
+    private LocalPaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        gateway = spy(new LocalPaymentGateway());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresThenHalfOpensAndCloses() throws Exception {
+        var client = client(10, 1000);
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("gateway is down")))
+                .when(gateway).authorize(any());
+        for(var attempt = 0; attempt < FAILURE_THRESHOLD; attempt++) {
+            assertCause(IllegalStateException.class, client.authorize(request("transaction-" + attempt)));
+        }
+        assertEquals(ECircuitState.OPEN, circuitBreaker(client).getState());
+
+        assertCause(ValidationException.class, client.authorize(request("rejected")));
+        verify(gateway, times(FAILURE_THRESHOLD)).authorize(any());
+
+        Thread.sleep(OPEN_DURATION_MS + 50);
+        var probe = new CompletableFuture<PaymentAuthorization>();
+        doReturn(probe).when(gateway).authorize(any());
+        var probeResult = client.authorize(request("probe"));
+        assertEquals(ECircuitState.HALF_OPEN, circuitBreaker(client).getState());
+        assertCause(ValidationException.class, client.authorize(request("during-probe")));
+
+        probe.complete(PaymentAuthorization.approved("probe"));
+        assertTrue(probeResult.join().approved());
+        assertEquals(ECircuitState.CLOSED, circuitBreaker(client).getState());
+
+        doCallRealMethod().when(gateway).authorize(any());
+        assertTrue(client.authorize(request("after-close")).join().approved());
+    }
+
+    @Test
+    void reopensWhenTheHalfOpenProbeFails() throws Exception {
+        var client = client(10, 1000);
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("gateway is down")))
+                .when(gateway).authorize(any());
+        for(var attempt = 0; attempt < FAILURE_THRESHOLD; attempt++) {
+            assertCause(IllegalStateException.class, client.authorize(request("transaction-" + attempt)));
+        }
+
+        Thread.sleep(OPEN_DURATION_MS + 50);
+        assertCause(IllegalStateException.class, client.authorize(request("probe")));
+
+        assertEquals(ECircuitState.OPEN, circuitBreaker(client).getState());
+        assertCause(ValidationException.class, client.authorize(request("rejected")));
+    }
+
+    @Test
+    void rejectsCallsOverTheBulkheadWithoutReachingTheGateway() {
+        var client = client(1, 1000);
+        var inFlight = new CompletableFuture<PaymentAuthorization>();
+        doReturn(inFlight).when(gateway).authorize(any());
+        var first = client.authorize(request("in-flight"));
+
+        assertCause(ValidationException.class, client.authorize(request("rejected")));
+        verify(gateway, times(1)).authorize(any());
+
+        inFlight.complete(PaymentAuthorization.approved("in-flight"));
+        assertTrue(first.join().approved());
+        doCallRealMethod().when(gateway).authorize(any());
+        assertTrue(client.authorize(request("after-release")).join().approved());
+        assertEquals(ECircuitState.CLOSED, circuitBreaker(client).getState());
+    }
+
+    @Test
+    void failsCallsPastTheDeadlineAndReleasesTheBulkhead() {
+        var client = client(1, 50);
+        doReturn(new CompletableFuture<PaymentAuthorization>()).when(gateway).authorize(any());
+
+        assertCause(TimeoutException.class, client.authorize(request("slow")));
+
+        doCallRealMethod().when(gateway).authorize(any());
+        assertTrue(client.authorize(request("after-timeout")).join().approved());
+    }
+
+    @Test
+    void voidsAuthorizationsThroughTheSameGuard() {
+        var client = client(10, 1000);
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("gateway is down")))
+                .when(gateway).authorize(any());
+        for(var attempt = 0; attempt < FAILURE_THRESHOLD; attempt++) {
+            assertCause(IllegalStateException.class, client.authorize(request("transaction-" + attempt)));
+        }
+
+        assertCause(ValidationException.class, client.voidAuthorization("transaction-0"));
+        verify(gateway, never()).voidAuthorization(any());
+    }
+
+    private PaymentGatewayClient client(int maxConcurrentCalls, long timeoutMs) {
+        var client = new PaymentGatewayClient(gateway, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(client, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", maxConcurrentCalls);
+        ReflectionTestUtils.setField(client, "maxWaitMs", 0L);
+        ReflectionTestUtils.setField(client, "failureThreshold", FAILURE_THRESHOLD);
+        ReflectionTestUtils.setField(client, "openDurationMs", OPEN_DURATION_MS);
+        ReflectionTestUtils.setField(client, "batchEnabled", false);
+        client.init();
+        return client;
+    }
+
+    private CircuitBreaker circuitBreaker(PaymentGatewayClient client) {
+        return (CircuitBreaker) ReflectionTestUtils.getField(client, "circuitBreaker");
+    }
+
+    private PaymentAuthorizationRequest request(String transactionId) {
+        return new PaymentAuthorizationRequest("order-1", transactionId, 1, Money.ofCents(1000));
+    }
+
+    private void assertCause(Class<? extends Throwable> expected, CompletableFuture<?> future) {
+        var exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(expected, exception.getCause());
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.microservices.orchestrated.paymentservice.core.service;
+
+import br.com.microservices.orchestrated.paymentservice.core.claimcheck.ClaimCheckResolver;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Money;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Order;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.dto.PaymentKey;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Product;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EHistoryStep;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.paymentservice.core.gateway.PaymentAuthorization;
+import br.com.microservices.orchestrated.paymentservice.core.gateway.PaymentGatewayClient;
+import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
+import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentRepository;
+import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private KafkaProducer producer;
+    @Mock
+    private PaymentGatewayClient gatewayClient;
+    @Mock
+    private ClaimCheckResolver claimCheckResolver;
+
+    private JsonUtil jsonUtil;
+    private ThreadPoolTaskExecutor callbackExecutor;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        jsonUtil = new JsonUtil(Jackson2ObjectMapperBuilder.json().build());
+        callbackExecutor = new ThreadPoolTaskExecutor();
+        callbackExecutor.initialize();
+        paymentService = new PaymentService(
+                jsonUtil,
+                paymentRepository,
+                producer,
+                gatewayClient,
+                callbackExecutor,
+                new SimpleMeterRegistry(),
+                claimCheckResolver
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        callbackExecutor.shutdown();
+    }
+
+    @Test
+    void voidsTheAuthorizationWhenTheGatewayTimesOut() {
+        var event = paymentEvent();
+        stubPaymentInsert(event);
+        when(gatewayClient.authorize(any())).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+        when(gatewayClient.voidAuthorization("transaction-1")).thenReturn(CompletableFuture.completedFuture(null));
+
+        paymentService.realizePayment(event);
+
+        verify(gatewayClient, timeout(5000)).voidAuthorization("transaction-1");
+        var published = ArgumentCaptor.forClass(String.class);
+        verify(producer, timeout(5000)).sendEvent(published.capture());
+        assertEquals(ESagaStatus.ROLLBACK_PENDING, jsonUtil.toEvent(published.getValue()).getStatus());
+    }
+
+    @Test
+    void keepsDeclinedAuthorizationsWithoutVoiding() {
+        var event = paymentEvent();
+        stubPaymentInsert(event);
+        when(gatewayClient.authorize(any())).thenReturn(CompletableFuture.completedFuture(
+                PaymentAuthorization.declined("transaction-1", "Insufficient funds")
+        ));
+
+        paymentService.realizePayment(event);
+
+        verify(producer, timeout(5000)).sendEvent(any());
+        verify(gatewayClient, never()).voidAuthorization(any());
+    }
+
+    @Test
+    void refundsMatchedPaymentsAndFailsTheRestInOnePublish() {
+        var found = rollbackEvent("order-1", "transaction-1");
+        var missing = rollbackEvent("order-2", "transaction-2");
+        when(paymentRepository.updateStatuses(anyList(), eq(EPaymentStatus.REFUND)))
+                .thenReturn(Set.of(PaymentKey.of(found)));
+        when(gatewayClient.voidAuthorization("transaction-1")).thenReturn(CompletableFuture.completedFuture(null));
+
+        paymentService.realizeRefunds(List.of(found, missing));
+
+        verify(gatewayClient).voidAuthorization("transaction-1");
+        verify(gatewayClient, never()).voidAuthorization("transaction-2");
+        assertEquals(ESagaStatus.FAIL, found.getStatus());
+        assertEquals(EHistoryStep.PAYMENT_ROLLBACK, lastStep(found));
+        assertEquals(ESagaStatus.FAIL, missing.getStatus());
+        assertEquals(EHistoryStep.PAYMENT_ROLLBACK_FAIL, lastStep(missing));
+        var published = publishedEvents();
+        assertEquals(2, published.size());
+        assertEquals("transaction-1", published.get(0).getTransactionId());
+        assertEquals("transaction-2", published.get(1).getTransactionId());
+    }
+
+    @Test
+    void propagatesDatabaseFailuresWithoutPublishing() {
+        var event = rollbackEvent("order-1", "transaction-1");
+        when(paymentRepository.updateStatuses(anyList(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> paymentService.realizeRefunds(List.of(event)));
+
+        verifyNoInteractions(gatewayClient, producer);
+    }
+
+    @Test
+    void propagatesVoidFailuresWithoutPublishing() {
+        var event = rollbackEvent("order-1", "transaction-1");
+        when(paymentRepository.updateStatuses(anyList(), any())).thenReturn(Set.of(PaymentKey.of(event)));
+        when(gatewayClient.voidAuthorization("transaction-1"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("gateway is down")));
+
+        assertThrows(CompletionException.class, () -> paymentService.realizeRefunds(List.of(event)));
+
+        verifyNoInteractions(producer);
+    }
+
+    @Test
+    void propagatesPublishFailures() {
+        var event = rollbackEvent("order-1", "transaction-1");
+        when(paymentRepository.updateStatuses(anyList(), any())).thenReturn(Set.of(PaymentKey.of(event)));
+        when(gatewayClient.voidAuthorization("transaction-1")).thenReturn(CompletableFuture.completedFuture(null));
+        doThrow(new IllegalStateException("broker is down")).when(producer).sendEvents(anyList());
+
+        assertThrows(IllegalStateException.class, () -> paymentService.realizeRefunds(List.of(event)));
+    }
+
+    private Event rollbackEvent(String orderId, String transactionId) {
+        return Event
+                .builder()
+                .orderId(orderId)
+                .transactionId(transactionId)
+                .payload(new Order())
+                .status(ESagaStatus.ROLLBACK_PENDING)
+                .build();
+    }
+
+    private Event paymentEvent() {
+        var products = List.of(new OrderProduct(new Product("COMIC_BOOKS", Money.ofCents(1500)), 2));
+        var order = new Order();
+        order.setProducts(products);
+        return Event
+                .builder()
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(order)
+                .status(ESagaStatus.SUCCESS)
+                .build();
+    }
+
+    private void stubPaymentInsert(Event event) {
+        when(claimCheckResolver.getProducts(event.getPayload())).thenReturn(event.getPayload().getProducts());
+        when(paymentRepository.insertIfAbsent(any(), any(), any(), anyInt(), anyLong(), any(), any()))
+                .thenReturn(Optional.of(1));
+    }
+
+    private EHistoryStep lastStep(Event event) {
+        return event.getEventHistory().get(event.getEventHistory().size() - 1).getStep();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Event> publishedEvents() {
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(producer).sendEvents(captor.capture());
+        return ((List<String>) captor.getValue()).stream().map(jsonUtil::toEvent).toList();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.microservices.orchestrated.paymentservice.core.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+    private static final long LONG_LINGER_MS = 10_000;
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<Integer, String> batcher;
+
+    @AfterEach
+    void tearDown() {
+        if(batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void flushesAsSoonAsTheBatchIsFull() {
+        batcher = batcher(3, LONG_LINGER_MS, this::echo);
+
+        var results = submitAll(1, 2, 3);
+
+        assertEquals(List.of("1", "2", "3"), joinAll(results));
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+    }
+
+    @Test
+    void flushesAPartialBatchOnceTheLingerExpires() {
+        batcher = batcher(100, 50, this::echo);
+        var start = System.nanoTime();
+
+        var results = submitAll(1, 2);
+
+        assertEquals(List.of("1", "2"), joinAll(results));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(List.of(List.of(1, 2)), batches);
+    }
+
+    @Test
+    void completesEachSubmissionWithItsOwnResult() {
+        batcher = batcher(4, LONG_LINGER_MS, items -> CompletableFuture.supplyAsync(() -> items
+                .stream()
+                .map(item -> "result-" + item * 10)
+                .toList()));
+
+        var results = submitAll(4, 3, 2, 1);
+
+        assertEquals(List.of("result-40", "result-30", "result-20", "result-10"), joinAll(results));
+    }
+
+    @Test
+    void failsEverySubmissionOfAFailedOrMismatchedBatch() {
+        batcher = batcher(2, LONG_LINGER_MS, items -> items.contains(1)
+                ? CompletableFuture.failedFuture(new IllegalStateException("handler failed"))
+                : CompletableFuture.completedFuture(List.of("only one")));
+
+        var failed = submitAll(1, 2);
+        var mismatched = submitAll(3, 4);
+
+        for(var result : failed) {
+            var exception = assertThrows(CompletionException.class, result::join);
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+        for(var result : mismatched) {
+            var exception = assertThrows(CompletionException.class, result::join);
+            assertTrue(exception.getCause().getMessage().contains("returned 1 results for 2 items"));
+        }
+    }
+
+    @Test
+    void drainsQueuedSubmissionsOnClose() throws Exception {
+        var handlerEntered = new CountDownLatch(1);
+        var neverReleased = new CountDownLatch(1);
+        batcher = batcher(2, 0, items -> {
+            if(items.contains(1)) {
+                handlerEntered.countDown();
+                // Blocks the dispatcher until close() interrupts it, so the rest stays queued.
+                await(neverReleased);
+            }
+            return echo(items);
+        });
+        var first = batcher.submit(1);
+        assertTrue(handlerEntered.await(5, TimeUnit.SECONDS));
+        var queued = submitAll(2, 3, 4, 5, 6);
+
+        batcher.close();
+        batcher = null;
+
+        assertEquals("1", first.join());
+        assertEquals(List.of("2", "3", "4", "5", "6"), joinAll(queued));
+        assertEquals(List.of(List.of(1), List.of(2, 3), List.of(4, 5), List.of(6)), batches);
+    }
+
+    private MicroBatcher<Integer, String> batcher(int maxBatchSize,
+                                                  long lingerMs,
+                                                  Function<List<Integer>, CompletableFuture<List<String>>> handler) {
+        return new MicroBatcher<>("test", maxBatchSize, lingerMs, 100, items -> {
+            batches.add(items);
+            return handler.apply(items);
+        }, new SimpleMeterRegistry());
+    }
+
+    private CompletableFuture<List<String>> echo(List<Integer> items) {
+        return CompletableFuture.completedFuture(items.stream().map(String::valueOf).toList());
+    }
+
+    private List<CompletableFuture<String>> submitAll(Integer... items) {
+        var results = new ArrayList<CompletableFuture<String>>();
+        for(var item : items) {
+            results.add(batcher.submit(item));
+        }
+        return results;
+    }
+
+    private List<String> joinAll(List<CompletableFuture<String>> results) {
+        return results
+                .stream()
+                .map(result -> result.orTimeout(5, TimeUnit.SECONDS).join())
+                .toList();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.microservices.orchestrated.productvalidationservice.benchmark;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.jpa.PooledSequenceGenerator;
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ValidationInsertBenchmark.ROWS_PER_TRANSACTION)
+public class ValidationInsertBenchmark {
+    static final int ROWS_PER_TRANSACTION = 100;
+    private static final String IDENTITY = "identity";
+    private static final String POOLED_SEQUENCE = "pooled-sequence";
+    private static final String JDBC_URL_OPTIONS = "&reWriteBatchedInserts=true";
+
+    @Param({IDENTITY, POOLED_SEQUENCE})
+    private String idGeneration;
+
+    private EmbeddedPostgres postgres;
+    private SessionFactory sessionFactory;
+    private LongFunction<Object> rowFactory;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        var configuration = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl("postgres", "postgres").concat(JDBC_URL_OPTIONS))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.HBM2DDL_IMPORT_FILES, "")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, "50")
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        if(IDENTITY.equals(idGeneration)) {
+            configuration.addAnnotatedClass(IdentityValidation.class);
+            rowFactory = IdentityValidation::of;
+        } else {
+            configuration.addAnnotatedClass(Validation.class);
+            rowFactory = ValidationInsertBenchmark::validation;
+        }
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        sessionFactory.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        try(var session = sessionFactory.openSession()) {
+            var transaction = session.beginTransaction();
+            for(var i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                session.persist(rowFactory.apply(rows++));
+            }
+            transaction.commit();
+        }
+    }
+
+    private static Validation validation(long row) {
+        return Validation
+                .builder()
+                .orderId("order-" + row)
+                .transactionId("transaction-" + row)
+                .success(true)
+                .build();
+    }
+
+    @Entity
+    @Table(name = "identity_validation")
+    public static class IdentityValidation {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Integer id;
+
+        @Column(nullable = false)
+        private String orderId;
+
+        @Column(nullable = false)
+        private String transactionId;
+
+        @Column(nullable = false)
+        private boolean success;
+
+        @Column(nullable = false, updatable = false)
+        private LocalDateTime createdAt;
+
+        @Column(nullable = false)
+        private LocalDateTime updatedAt;
+
+        static IdentityValidation of(long row) {
+            var validation = new IdentityValidation();
+            validation.orderId = "order-" + row;
+            validation.transactionId = "transaction-" + row;
+            validation.success = true;
+            validation.createdAt = LocalDateTime.now();
+            validation.updatedAt = validation.createdAt;
+            return validation;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Product;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogIndex {
+    private final ProductRepository productRepository;
+    private volatile Snapshot snapshot;
+
+    @Value("${product-catalog.index.enabled}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        if(enabled) {
+            reload();
+        }
+    }
+
+    public boolean contains(String code) {
+        var current = snapshot;
+        if(current == null) {
+            if(enabled) {
+                log.warn("Product catalog index is not loaded, checking product {} on the database", code);
+            }
+            return false;
+        }
+        return current.codes().contains(code);
+    }
+
+    // Only new ids are read incrementally. A shrinking row count means products were deleted, which triggers a
+    // full reload right away. Codes renamed in place leave the count unchanged and stay indexed until the next
+    // full reload, so full-reload-interval-ms bounds that staleness.
+
+    @Scheduled(
+            initialDelayString = "${product-catalog.index.refresh-interval-ms}",
+            fixedDelayString = "${product-catalog.index.refresh-interval-ms}"
+    )
+    public void refresh() {
+        if(!enabled) {
+            return;
+        }
+        var current = snapshot;
+        if(current == null) {
+            reload();
+            return;
+        }
+        try {
+            var productCount = productRepository.count();
+            var newProducts = productRepository.findByIdGreaterThan(current.lastProductId());
+            if(productCount < current.productCount() + newProducts.size()) {
+                log.info("Products were deleted from the catalog, reloading the product catalog index");
+                reload();
+                return;
+            }
+            if(newProducts.isEmpty()) {
+                return;
+            }
+            var codes = new HashSet<>(current.codes());
+            newProducts.forEach(product -> codes.add(product.getCode()));
+            snapshot = new Snapshot(
+                    Set.copyOf(codes),
+                    lastProductId(newProducts),
+                    current.productCount() + newProducts.size()
+            );
+            log.info("Product catalog index refreshed with {} new products", newProducts.size());
+        } catch(Exception e) {
+            log.error("Error trying to refresh product catalog index: ", e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${product-catalog.index.full-reload-interval-ms}",
+            fixedDelayString = "${product-catalog.index.full-reload-interval-ms}"
+    )
+    public void reload() {
+        if(!enabled) {
+            return;
+        }
+        try {
+            var products = productRepository.findAll();
+            var codes = new HashSet<String>(products.size());
+            products.forEach(product -> codes.add(product.getCode()));
+            snapshot = new Snapshot(Set.copyOf(codes), lastProductId(products), products.size());
+            log.info("Product catalog index loaded with {} products", codes.size());
+        } catch(Exception e) {
+            log.error("Error trying to load product catalog index: ", e);
+        }
+    }
+
+    private int lastProductId(List<Product> products) {
+        return products
+                .stream()
+                .mapToInt(Product::getId)
+                .max()
+                .orElse(0);
+    }
+
+    private record Snapshot(Set<String> codes, int lastProductId, long productCount) {
+    }
+}
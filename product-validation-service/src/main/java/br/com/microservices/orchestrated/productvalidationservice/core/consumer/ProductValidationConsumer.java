@@ -2,6 +2,7 @@ package br.com.microservices.orchestrated.productvalidationservice.core.consumer
 
 import br.com.microservices.orchestrated.productvalidationservice.core.service.ProductValidationService;
 import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,6 +15,7 @@ public class ProductValidationConsumer {
     private final JsonUtil jsonUtil;
     private final ProductValidationService productValidationService;
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-success}"
@@ -24,6 +26,7 @@ public class ProductValidationConsumer {
         productValidationService.validate(event);
     }
 
+    @Timed("saga.consumer")
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-fail}"
@@ -0,0 +1,18 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.enums;
+
+public enum EHistoryStep {
+    SAGA_STARTED,
+    SAGA_FINISHED_SUCCESS,
+    SAGA_FINISHED_FAIL,
+    PRODUCT_VALIDATION_SUCCESS,
+    PRODUCT_VALIDATION_FAIL,
+    PRODUCT_VALIDATION_ROLLBACK,
+    PAYMENT_SUCCESS,
+    PAYMENT_FAIL,
+    PAYMENT_ROLLBACK,
+    PAYMENT_ROLLBACK_FAIL,
+    INVENTORY_SUCCESS,
+    INVENTORY_FAIL,
+    INVENTORY_ROLLBACK,
+    INVENTORY_ROLLBACK_FAIL
+}
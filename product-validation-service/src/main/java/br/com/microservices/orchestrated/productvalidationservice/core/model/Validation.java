@@ -1,10 +1,14 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.model;
 
+import br.com.microservices.orchestrated.productvalidationservice.config.jpa.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
@@ -13,10 +17,18 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "validation")
+@Table(
+        name = "validation",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"order_id", "transaction_id"})
+)
 public class Validation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "validation_seq")
+    @GenericGenerator(
+            name = "validation_seq",
+            type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "validation_seq")
+    )
     private Integer id;
 
     @Column(nullable = false)
@@ -2,7 +2,15 @@ package br.com.microservices.orchestrated.productvalidationservice.core.reposito
 
 import br.com.microservices.orchestrated.productvalidationservice.core.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
-    Boolean existsByCode(String code);
+    @Query("select p.code from Product p where p.code in :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+    List<Product> findByIdGreaterThan(Integer id);
 }
@@ -1,19 +1,26 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.service;
 
 import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.catalog.ProductCatalogIndex;
+import br.com.microservices.orchestrated.productvalidationservice.core.claimcheck.ClaimCheckResolver;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.History;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EHistoryStep;
 import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
 import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
 import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
 import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 
@@ -26,7 +33,11 @@ public class ProductValidationService {
     private final KafkaProducer producer;
     private final ProductRepository productRepository;
     private final ValidationRepository validationRepository;
+    private final ProductCatalogIndex productCatalogIndex;
+    private final ValidationRecorder validationRecorder;
+    private final ClaimCheckResolver claimCheckResolver;
 
+    @Timed("saga.step")
     public void validate(Event event) {
         try {
             validateEvent(event);
@@ -42,10 +53,7 @@ public class ProductValidationService {
     }
 
     private void checkCurrentValidation(Event event) {
-        if(validationRepository.existsByOrderIdAndTransactionId(
-                event.getOrderId(),
-                event.getTransactionId()
-        )) {
+        if(validationRecorder.exists(event.getOrderId(), event.getTransactionId())) {
             throw new ValidationException(String.format(
                     "There's another transaction for this validation. OrderID: %s - TransactionID: %s",
                     event.getOrderId(),
@@ -59,66 +67,91 @@ public class ProductValidationService {
             throw new ValidationException("OrderID and TransactionID should not be empty");
         }
 
-        if(isEmpty(event.getPayload()) || isEmpty(event.getPayload().getProducts())) {
+        if(isEmpty(event.getPayload()) || isEmpty(claimCheckResolver.getProducts(event.getPayload()))) {
             throw new ValidationException(String.format("The product list is empty.", event.getOrderId()));
         }
     }
 
     private void validateProductList(Event event) {
-        event.getPayload().getProducts().forEach(product -> {
-            if(isEmpty(product) || isEmpty(product.getProduct().getCode())) {
+        var codes = new LinkedHashSet<String>();
+        claimCheckResolver.getProducts(event.getPayload()).forEach(product -> {
+            if(isEmpty(product) || isEmpty(product.getProduct()) || isEmpty(product.getProduct().getCode())) {
                 throw new ValidationException(String.format("Invalid product.", event.getOrderId()));
             }
-
-            if(!productRepository.existsByCode(product.getProduct().getCode())) {
-                throw new ValidationException(String.format("The product %s does not exists.", product.getProduct().getCode()));
-            }
+            codes.add(product.getProduct().getCode());
         });
+
+        var missingCodes = findMissingCodes(codes);
+        if(!missingCodes.isEmpty()) {
+            throw new ValidationException(String.format("The products %s do not exist.", missingCodes));
+        }
+    }
+
+    private List<String> findMissingCodes(Set<String> codes) {
+        var unindexedCodes = codes
+                .stream()
+                .filter(code -> !productCatalogIndex.contains(code))
+                .toList();
+        if(unindexedCodes.isEmpty()) {
+            return List.of();
+        }
+
+        var existingCodes = productRepository.findExistingCodes(unindexedCodes);
+        return unindexedCodes
+                .stream()
+                .filter(code -> !existingCodes.contains(code))
+                .toList();
     }
 
-    private void createValidation(Event event, boolean success) {
-        var validation = Validation
+    private Validation createValidation(Event event, boolean success) {
+        return Validation
                 .builder()
                 .orderId(event.getOrderId())
                 .transactionId(event.getTransactionId())
                 .success(success)
                 .build();
-        validationRepository.save(validation);
     }
 
-    private void addToHistory(Event event, String message) {
+    private void addToHistory(Event event, EHistoryStep step) {
+        addToHistory(event, step, null);
+    }
+
+    private void addToHistory(Event event, EHistoryStep step, String detail) {
         var history = History
                 .builder()
                 .source(CURRENT_SOURCE)
                 .status(event.getStatus())
-                .message(message)
+                .step(step)
+                .detail(detail)
                 .createdAt(LocalDateTime.now())
                 .build();
         event.addToEventHistory(history);
     }
 
     private void handleSuccess(Event event) {
-        createValidation(event, true);
+        validationRecorder.record(createValidation(event, true));
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
-        addToHistory(event, "Products validated successfully.");
+        addToHistory(event, EHistoryStep.PRODUCT_VALIDATION_SUCCESS);
     }
 
     private void handleFail(Event event, String message) {
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
-        addToHistory(event, String.format("Fail to validate product. %s", message));
+        addToHistory(event, EHistoryStep.PRODUCT_VALIDATION_FAIL, message);
     }
 
+    @Timed("saga.step")
     public void rollbackEvent(Event event) {
         updateValidationToFail(event);
         event.setSource(CURRENT_SOURCE);
         event.setStatus(ESagaStatus.FAIL);
-        addToHistory(event, "Rollback executed on product validation!");
+        addToHistory(event, EHistoryStep.PRODUCT_VALIDATION_ROLLBACK);
         producer.sendEvent(jsonUtil.toJson(event));
     }
 
     private void updateValidationToFail(Event event) {
+        validationRecorder.flush();
         validationRepository
                 .findByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId())
                 .ifPresentOrElse(
@@ -126,7 +159,7 @@ public class ProductValidationService {
                             validation.setSuccess(false);
                             validationRepository.save(validation);
                         },
-                        () -> createValidation(event, false)
+                        () -> validationRepository.save(createValidation(event, false))
                 );
     }
 }
@@ -0,0 +1,172 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.service;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ValidationRecorder {
+    private static final String TRANSACTION_KEY_PATTERN = "%s_%s";
+
+    private final ValidationRepository validationRepository;
+    private final List<Validation> pending = new ArrayList<>();
+    private BlockingQueue<Validation> buffer;
+    private Map<String, Boolean> recentTransactions;
+
+    @Value("${validation.recorder.batch-size}")
+    private int batchSize;
+    @Value("${validation.recorder.max-buffered}")
+    private int maxBuffered;
+    @Value("${validation.recorder.offer-timeout-ms}")
+    private long offerTimeoutMs;
+    @Value("${validation.recorder.recent-transactions}")
+    private int recentTransactionsSize;
+    @Value("${validation.recorder.retry.max-attempts}")
+    private int retryMaxAttempts;
+    @Value("${validation.recorder.retry.initial-backoff-ms}")
+    private long retryInitialBackoffMs;
+    @Value("${validation.recorder.retry.max-backoff-ms}")
+    private long retryMaxBackoffMs;
+
+    @PostConstruct
+    public void init() {
+        buffer = new ArrayBlockingQueue<>(maxBuffered);
+        recentTransactions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentTransactionsSize;
+            }
+        });
+    }
+
+    // The LRU only knows the transactions this instance recorded lately. On a miss the database answers
+    // for validations recorded before a restart, by another instance or evicted since.
+    public boolean exists(String orderId, String transactionId) {
+        return recentTransactions.get(transactionKey(orderId, transactionId)) != null
+                || Boolean.TRUE.equals(validationRepository.existsByOrderIdAndTransactionId(orderId, transactionId));
+    }
+
+    // Flushing is left to the scheduler, so the listener thread never waits on the database retries.
+    // When the buffer stays full past offer-timeout-ms the step fails instead.
+    public void record(Validation validation) {
+        var key = transactionKey(validation.getOrderId(), validation.getTransactionId());
+        recentTransactions.put(key, Boolean.TRUE);
+        if(!offer(validation)) {
+            recentTransactions.remove(key);
+            throw new ValidationException(String.format(
+                    "Validation buffer is full with %s validations waiting for the database.", buffer.size()
+            ));
+        }
+    }
+
+    private boolean offer(Validation validation) {
+        try {
+            return buffer.offer(validation, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${validation.recorder.flush-interval-ms}",
+            fixedDelayString = "${validation.recorder.flush-interval-ms}"
+    )
+    public synchronized void flush() {
+        if(!pending.isEmpty()) {
+            if(!saveWithRetry(pending)) {
+                return;
+            }
+            pending.clear();
+        }
+        var batch = new ArrayList<Validation>(batchSize);
+        while(buffer.drainTo(batch, batchSize) > 0) {
+            if(!saveWithRetry(batch)) {
+                pending.addAll(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        flush();
+        var unsaved = pending.size() + buffer.size();
+        if(unsaved > 0) {
+            log.error("Shutting down with {} validations that could not be saved.", unsaved);
+        }
+    }
+
+    private boolean saveWithRetry(List<Validation> batch) {
+        var backoffMs = retryInitialBackoffMs;
+        for(var attempt = 1; attempt <= retryMaxAttempts; attempt++) {
+            try {
+                saveBatch(batch);
+                return true;
+            } catch(Exception e) {
+                log.warn("Error trying to save {} validations on attempt {}/{}: {}",
+                        batch.size(), attempt, retryMaxAttempts, e.getMessage());
+                if(attempt < retryMaxAttempts && !sleep(backoffMs)) {
+                    return false;
+                }
+                backoffMs = Math.min(backoffMs * 2, retryMaxBackoffMs);
+            }
+        }
+        log.error("Keeping {} validations buffered until the database accepts them again.", batch.size());
+        return false;
+    }
+
+    private void saveBatch(List<Validation> batch) {
+        batch.forEach(validation -> validation.setId(null));
+        try {
+            validationRepository.saveAll(batch);
+        } catch(DataIntegrityViolationException e) {
+            log.warn("Duplicated validation found in batch, saving validations one by one.");
+            batch.forEach(this::saveSingle);
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void saveSingle(Validation validation) {
+        try {
+            validation.setId(null);
+            validationRepository.save(validation);
+        } catch(DataIntegrityViolationException e) {
+            log.warn("Validation already exists. OrderID: {} - TransactionID: {}",
+                    validation.getOrderId(), validation.getTransactionId());
+        }
+    }
+
+    private String transactionKey(String orderId, String transactionId) {
+        return String.format(TRANSACTION_KEY_PATTERN, orderId, transactionId);
+    }
+}
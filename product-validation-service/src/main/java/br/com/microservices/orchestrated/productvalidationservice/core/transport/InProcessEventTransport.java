@@ -0,0 +1,43 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.transport;
+
+import br.com.microservices.orchestrated.sagabus.MessageHandler;
+import br.com.microservices.orchestrated.sagabus.SagaBus;
+import br.com.microservices.orchestrated.sagabus.Subscription;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "saga.transport.type", havingValue = "in-process")
+public class InProcessEventTransport implements EventTransport {
+    // Same naming as spring-kafka's DeadLetterPublishingRecoverer
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    @Value("${saga.transport.in-process.buffer-size}")
+    private int bufferSize;
+    @Value("${saga.transport.in-process.publish-timeout-ms}")
+    private long publishTimeoutMs;
+
+    private SagaBus sagaBus;
+
+    @PostConstruct
+    public void init() {
+        sagaBus = SagaBus.shared(bufferSize);
+    }
+
+    @Override
+    public void send(String topic, String payload) {
+        sagaBus.publish(topic, payload, publishTimeoutMs);
+    }
+
+    public Subscription subscribe(String topic, String groupId, MessageHandler handler) {
+        return sagaBus.subscribe(topic, groupId, handler, (sequence, message, cause) -> {
+            log.error("Failed to handle message {} of topic {} for group {}, sending it to {}",
+                    sequence, topic, groupId, topic + DEAD_LETTER_SUFFIX, cause);
+            sagaBus.publish(topic + DEAD_LETTER_SUFFIX, message, publishTimeoutMs);
+        });
+    }
+}
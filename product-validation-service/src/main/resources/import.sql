@@ -1,4 +1,4 @@
-INSERT INTO public.product (id, code) VALUES (1, 'COMIC_BOOK');
-INSERT INTO public.product (id, code) VALUES (2, 'BOOK');
-INSERT INTO public.product (id, code) VALUES (3, 'MOVIE');
-INSERT INTO public.product (id, code) VALUES (4, 'MUSIC');
\ No newline at end of file
+INSERT INTO public.product (id, code) VALUES (nextval('product_seq'), 'COMIC_BOOK');
+INSERT INTO public.product (id, code) VALUES (nextval('product_seq'), 'BOOK');
+INSERT INTO public.product (id, code) VALUES (nextval('product_seq'), 'MOVIE');
+INSERT INTO public.product (id, code) VALUES (nextval('product_seq'), 'MUSIC');
\ No newline at end of file
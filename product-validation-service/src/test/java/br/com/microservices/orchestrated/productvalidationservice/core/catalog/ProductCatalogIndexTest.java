@@ -0,0 +1,81 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.catalog;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Product;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCatalogIndex productCatalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        productCatalogIndex = new ProductCatalogIndex(productRepository);
+        ReflectionTestUtils.setField(productCatalogIndex, "enabled", true);
+    }
+
+    @Test
+    void addsNewProductsIncrementally() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1, "COMIC_BOOK"), product(2, "BOOK")));
+        productCatalogIndex.init();
+        when(productRepository.count()).thenReturn(3L);
+        when(productRepository.findByIdGreaterThan(2)).thenReturn(List.of(product(3, "MOVIE")));
+
+        productCatalogIndex.refresh();
+
+        assertTrue(productCatalogIndex.contains("MOVIE"));
+        assertTrue(productCatalogIndex.contains("BOOK"));
+        verify(productRepository).findAll();
+    }
+
+    @Test
+    void reloadsEverythingWhenProductsWereDeleted() {
+        when(productRepository.findAll())
+                .thenReturn(List.of(product(1, "COMIC_BOOK"), product(2, "BOOK")))
+                .thenReturn(List.of(product(1, "COMIC_BOOK"), product(3, "MOVIE")));
+        productCatalogIndex.init();
+        when(productRepository.count()).thenReturn(2L);
+        when(productRepository.findByIdGreaterThan(2)).thenReturn(List.of(product(3, "MOVIE")));
+
+        productCatalogIndex.refresh();
+
+        assertFalse(productCatalogIndex.contains("BOOK"));
+        assertTrue(productCatalogIndex.contains("COMIC_BOOK"));
+        assertTrue(productCatalogIndex.contains("MOVIE"));
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void missesEveryCodeUntilTheFirstLoadSucceeds() {
+        when(productRepository.findAll())
+                .thenThrow(new DataAccessResourceFailureException("database is down"))
+                .thenReturn(List.of(product(1, "COMIC_BOOK")));
+        productCatalogIndex.init();
+
+        assertFalse(productCatalogIndex.contains("COMIC_BOOK"));
+
+        productCatalogIndex.refresh();
+
+        assertTrue(productCatalogIndex.contains("COMIC_BOOK"));
+        verify(productRepository, never()).findByIdGreaterThan(anyInt());
+    }
+
+    private Product product(int id, String code) {
+        return new Product(id, code);
+    }
+}
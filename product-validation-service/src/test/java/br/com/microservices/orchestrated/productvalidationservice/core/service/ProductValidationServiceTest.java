@@ -0,0 +1,126 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.service;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.catalog.ProductCatalogIndex;
+import br.com.microservices.orchestrated.productvalidationservice.core.claimcheck.ClaimCheckResolver;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Money;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Order;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Product;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EHistoryStep;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
+import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
+import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductValidationServiceTest {
+
+    @Mock
+    private KafkaProducer producer;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ValidationRepository validationRepository;
+    @Mock
+    private ProductCatalogIndex productCatalogIndex;
+    @Mock
+    private ValidationRecorder validationRecorder;
+    @Mock
+    private ClaimCheckResolver claimCheckResolver;
+
+    private JsonUtil jsonUtil;
+    private ProductValidationService productValidationService;
+
+    @BeforeEach
+    void setUp() {
+        jsonUtil = new JsonUtil(Jackson2ObjectMapperBuilder.json().build());
+        productValidationService = new ProductValidationService(
+                jsonUtil,
+                producer,
+                productRepository,
+                validationRepository,
+                productCatalogIndex,
+                validationRecorder,
+                claimCheckResolver
+        );
+    }
+
+    @Test
+    void recordsNewTransactions() {
+        var event = event();
+        when(validationRecorder.exists("order-1", "transaction-1")).thenReturn(false);
+        when(productCatalogIndex.contains("COMIC_BOOKS")).thenReturn(true);
+
+        productValidationService.validate(event);
+
+        verify(validationRecorder).record(any(Validation.class));
+        var published = publishedEvent();
+        assertEquals(ESagaStatus.SUCCESS, published.getStatus());
+        assertEquals(EHistoryStep.PRODUCT_VALIDATION_SUCCESS, published.getEventHistory().get(0).getStep());
+    }
+
+    @Test
+    void failsDuplicatedTransactionsWithoutRecordingThem() {
+        var event = event();
+        when(validationRecorder.exists("order-1", "transaction-1")).thenReturn(true);
+
+        productValidationService.validate(event);
+
+        verify(validationRecorder, never()).record(any());
+        var published = publishedEvent();
+        assertEquals(ESagaStatus.ROLLBACK_PENDING, published.getStatus());
+        var history = published.getEventHistory().get(0);
+        assertEquals(EHistoryStep.PRODUCT_VALIDATION_FAIL, history.getStep());
+        assertTrue(history.getDetail().startsWith("There's another transaction for this validation."));
+    }
+
+    @Test
+    void failsTheStepWhenTheRecorderIsFull() {
+        var event = event();
+        when(validationRecorder.exists("order-1", "transaction-1")).thenReturn(false);
+        when(productCatalogIndex.contains("COMIC_BOOKS")).thenReturn(true);
+        doThrow(new ValidationException("Validation buffer is full.")).when(validationRecorder).record(any());
+
+        productValidationService.validate(event);
+
+        var published = publishedEvent();
+        assertEquals(ESagaStatus.ROLLBACK_PENDING, published.getStatus());
+        assertEquals("Validation buffer is full.", published.getEventHistory().get(0).getDetail());
+    }
+
+    private Event event() {
+        var products = List.of(new OrderProduct(new Product("COMIC_BOOKS", Money.ofCents(1500)), 1));
+        var order = new Order();
+        order.setProducts(products);
+        lenient().when(claimCheckResolver.getProducts(order)).thenReturn(products);
+        return Event
+                .builder()
+                .orderId("order-1")
+                .transactionId("transaction-1")
+                .payload(order)
+                .build();
+    }
+
+    private Event publishedEvent() {
+        var captor = ArgumentCaptor.forClass(String.class);
+        verify(producer).sendEvent(captor.capture());
+        return jsonUtil.toEvent(captor.getValue());
+    }
+}
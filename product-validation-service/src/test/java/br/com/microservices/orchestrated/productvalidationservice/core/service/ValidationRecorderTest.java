@@ -0,0 +1,134 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.service;
+
+import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationRecorderTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BUFFERED = 3;
+    private static final int RECENT_TRANSACTIONS = 2;
+
+    @Mock
+    private ValidationRepository validationRepository;
+
+    private ValidationRecorder validationRecorder;
+
+    @BeforeEach
+    void setUp() {
+        validationRecorder = new ValidationRecorder(validationRepository);
+        ReflectionTestUtils.setField(validationRecorder, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(validationRecorder, "maxBuffered", MAX_BUFFERED);
+        ReflectionTestUtils.setField(validationRecorder, "offerTimeoutMs", 20L);
+        ReflectionTestUtils.setField(validationRecorder, "recentTransactionsSize", RECENT_TRANSACTIONS);
+        ReflectionTestUtils.setField(validationRecorder, "retryMaxAttempts", 2);
+        ReflectionTestUtils.setField(validationRecorder, "retryInitialBackoffMs", 1L);
+        ReflectionTestUtils.setField(validationRecorder, "retryMaxBackoffMs", 1L);
+        validationRecorder.init();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedTransaction() {
+        validationRecorder.record(validation("transaction-1"));
+        validationRecorder.record(validation("transaction-2"));
+        assertTrue(validationRecorder.exists("order-1", "transaction-1"));
+
+        validationRecorder.record(validation("transaction-3"));
+
+        assertTrue(validationRecorder.exists("order-1", "transaction-1"));
+        assertTrue(validationRecorder.exists("order-1", "transaction-3"));
+        assertFalse(validationRecorder.exists("order-1", "transaction-2"));
+        verify(validationRepository).existsByOrderIdAndTransactionId("order-1", "transaction-2");
+        verifyNoMoreInteractions(validationRepository);
+    }
+
+    @Test
+    void fallsBackToTheDatabaseOnALruMiss() {
+        when(validationRepository.existsByOrderIdAndTransactionId("order-1", "transaction-1")).thenReturn(true);
+
+        assertTrue(validationRecorder.exists("order-1", "transaction-1"));
+    }
+
+    @Test
+    void flushesTheBufferInBatchesOfBatchSize() {
+        var savedBatches = new ArrayList<List<String>>();
+        when(validationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Validation> batch = invocation.getArgument(0);
+            savedBatches.add(batch.stream().map(Validation::getTransactionId).toList());
+            return batch;
+        });
+        validationRecorder.record(validation("transaction-1"));
+        validationRecorder.record(validation("transaction-2"));
+        validationRecorder.record(validation("transaction-3"));
+
+        validationRecorder.flush();
+
+        assertEquals(List.of(List.of("transaction-1", "transaction-2"), List.of("transaction-3")), savedBatches);
+    }
+
+    @Test
+    void failsTheStepInsteadOfFlushingWhenTheBufferStaysFull() {
+        for(var index = 1; index <= MAX_BUFFERED; index++) {
+            validationRecorder.record(validation("transaction-" + index));
+        }
+
+        assertThrows(ValidationException.class, () -> validationRecorder.record(validation("overflow")));
+
+        verify(validationRepository, never()).saveAll(anyList());
+        assertFalse(validationRecorder.exists("order-1", "overflow"));
+    }
+
+    @Test
+    void keepsAFailedBatchPendingUntilTheDatabaseAcceptsIt() {
+        when(validationRepository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database is down"))
+                .thenThrow(new DataAccessResourceFailureException("database is down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        validationRecorder.record(validation("transaction-1"));
+
+        validationRecorder.flush();
+        validationRecorder.flush();
+
+        verify(validationRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void savesADuplicatedBatchOneByOne() {
+        when(validationRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(validationRepository.save(any(Validation.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        validationRecorder.record(validation("duplicated"));
+        validationRecorder.record(validation("new"));
+
+        validationRecorder.flush();
+
+        verify(validationRepository, times(2)).save(any(Validation.class));
+    }
+
+    private Validation validation(String transactionId) {
+        return Validation
+                .builder()
+                .orderId("order-1")
+                .transactionId(transactionId)
+                .success(true)
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.sagabus;
+
+@FunctionalInterface
+public interface DeadLetterHandler {
+    void onDeadLetter(long sequence, Object message, Exception cause);
+}
@@ -0,0 +1,83 @@
+package br.com.microservices.orchestrated.sagabus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+class EventProcessor implements Runnable {
+    private final String topic;
+    private final String group;
+    private final RingBuffer<Object> ringBuffer;
+    private final AtomicLong sequence;
+    private final MessageHandler handler;
+    private final DeadLetterHandler deadLetterHandler;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    EventProcessor(String topic,
+                   String group,
+                   RingBuffer<Object> ringBuffer,
+                   MessageHandler handler,
+                   DeadLetterHandler deadLetterHandler) {
+        this.topic = topic;
+        this.group = group;
+        this.ringBuffer = ringBuffer;
+        this.sequence = ringBuffer.addGatingSequence();
+        this.handler = handler;
+        this.deadLetterHandler = deadLetterHandler;
+        this.thread = new Thread(this, String.format("saga-bus-%s-%s", topic, group));
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        var next = sequence.get() + 1;
+        var idleCount = 0;
+        while(running) {
+            if(!ringBuffer.isPublished(next)) {
+                idleCount = IdleStrategy.idle(idleCount);
+                continue;
+            }
+            var available = next;
+            while(available - next < ringBuffer.getBufferSize() - 1 && ringBuffer.isPublished(available + 1)) {
+                available++;
+            }
+            for(var current = next; current <= available; current++) {
+                handle(current, ringBuffer.get(current));
+            }
+            sequence.lazySet(available);
+            next = available + 1;
+            idleCount = 0;
+        }
+    }
+
+    void halt() {
+        running = false;
+        try {
+            thread.join();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ringBuffer.removeGatingSequence(sequence);
+        }
+    }
+
+    private void handle(long current, Object message) {
+        try {
+            handler.onMessage(current, message);
+        } catch(Exception e) {
+            deadLetter(current, message, e);
+        }
+    }
+
+    private void deadLetter(long current, Object message, Exception cause) {
+        try {
+            deadLetterHandler.onDeadLetter(current, message, cause);
+        } catch(Exception e) {
+            log.error("Error handling message {} of topic {} for group {}, dead letter handling failed too: {}",
+                    current, topic, group, e.getMessage(), cause);
+        }
+    }
+}
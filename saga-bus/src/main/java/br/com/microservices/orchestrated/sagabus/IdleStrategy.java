@@ -0,0 +1,33 @@
+package br.com.microservices.orchestrated.sagabus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Every idle EventProcessor runs this loop on its own thread, one per topic and group.
+// After a short burst of spinning and yielding, the park time doubles from 50us up to 800us.
+// An idle processor therefore wakes at most about 1250 times a second. The cost is up to
+// 800us of extra latency on the first message after an idle period.
+final class IdleStrategy {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int MAX_PARK_SHIFT = 4;
+
+    private IdleStrategy() {
+    }
+
+    static int idle(int idleCount) {
+        if(idleCount < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if(idleCount < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            var parkShift = Math.min(idleCount - SPIN_TRIES - YIELD_TRIES, MAX_PARK_SHIFT);
+            LockSupport.parkNanos(MIN_PARK_NANOS << parkShift);
+            if(parkShift == MAX_PARK_SHIFT) {
+                return idleCount;
+            }
+        }
+        return idleCount + 1;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.sagabus;
+
+@FunctionalInterface
+public interface MessageHandler {
+    void onMessage(long sequence, Object message);
+}
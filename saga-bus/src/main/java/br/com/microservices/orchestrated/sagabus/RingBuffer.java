@@ -0,0 +1,97 @@
+package br.com.microservices.orchestrated.sagabus;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class RingBuffer<E> {
+    static final long INITIAL_SEQUENCE = -1L;
+
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(INITIAL_SEQUENCE);
+    private final AtomicLong cachedGatingSequence = new AtomicLong(INITIAL_SEQUENCE);
+    private final CopyOnWriteArrayList<AtomicLong> gatingSequences = new CopyOnWriteArrayList<>();
+
+    public RingBuffer(int bufferSize) {
+        requirePowerOfTwo(bufferSize);
+        this.entries = new Object[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        this.mask = bufferSize - 1;
+        for(var index = 0; index < bufferSize; index++) {
+            published.set(index, INITIAL_SEQUENCE);
+        }
+    }
+
+    static void requirePowerOfTwo(int bufferSize) {
+        if(bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException(String.format("Ring buffer size must be a power of two, got %d.", bufferSize));
+        }
+    }
+
+    public long next(long timeoutNanos) {
+        var deadline = System.nanoTime() + timeoutNanos;
+        var idleCount = 0;
+        while(true) {
+            var current = cursor.get();
+            var next = current + 1;
+            var wrapPoint = next - entries.length;
+            if(wrapPoint > cachedGatingSequence.get()) {
+                var minimum = minimumGatingSequence(current);
+                cachedGatingSequence.set(minimum);
+                if(wrapPoint > minimum) {
+                    if(System.nanoTime() - deadline > 0) {
+                        return INITIAL_SEQUENCE;
+                    }
+                    idleCount = IdleStrategy.idle(idleCount);
+                    continue;
+                }
+            }
+            if(cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    public void publish(long sequence, E entry) {
+        var index = index(sequence);
+        entries[index] = entry;
+        published.setRelease(index, sequence);
+    }
+
+    public boolean isPublished(long sequence) {
+        return published.getAcquire(index(sequence)) == sequence;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[index(sequence)];
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    public AtomicLong addGatingSequence() {
+        var sequence = new AtomicLong(cursor.get());
+        gatingSequences.add(sequence);
+        sequence.set(cursor.get());
+        return sequence;
+    }
+
+    public void removeGatingSequence(AtomicLong sequence) {
+        gatingSequences.remove(sequence);
+    }
+
+    private long minimumGatingSequence(long minimum) {
+        for(var sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
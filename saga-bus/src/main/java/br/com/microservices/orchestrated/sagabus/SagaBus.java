@@ -0,0 +1,66 @@
+package br.com.microservices.orchestrated.sagabus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class SagaBus {
+    private static SagaBus shared;
+
+    private final int bufferSize;
+    private final Map<String, RingBuffer<Object>> topics = new ConcurrentHashMap<>();
+    private final Map<String, EventProcessor> processors = new ConcurrentHashMap<>();
+
+    public SagaBus(int bufferSize) {
+        RingBuffer.requirePowerOfTwo(bufferSize);
+        this.bufferSize = bufferSize;
+    }
+
+    public static synchronized SagaBus shared(int bufferSize) {
+        if(shared == null) {
+            shared = new SagaBus(bufferSize);
+        } else if(shared.bufferSize != bufferSize) {
+            log.warn("Saga bus already created with buffer size {}, ignoring requested size {}", shared.bufferSize, bufferSize);
+        }
+        return shared;
+    }
+
+    public void publish(String topic, Object message, long timeoutMillis) {
+        var ringBuffer = topic(topic);
+        var sequence = ringBuffer.next(TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        if(sequence == RingBuffer.INITIAL_SEQUENCE) {
+            throw new IllegalStateException(String.format("Topic %s is full, no consumer progress in %d ms.", topic, timeoutMillis));
+        }
+        ringBuffer.publish(sequence, message);
+    }
+
+    public Subscription subscribe(String topic, String group, MessageHandler handler) {
+        return subscribe(topic, group, handler, (sequence, message, cause) ->
+                log.error("Error handling message {} of topic {} for group {}", sequence, topic, group, cause)
+        );
+    }
+
+    // The dead letter handler gets every message whose handler threw, on the processor thread, before the
+    // processor moves on to the next one.
+    public Subscription subscribe(String topic, String group, MessageHandler handler, DeadLetterHandler deadLetterHandler) {
+        var key = topic + "/" + group;
+        var processor = processors.compute(key, (existingKey, existing) -> {
+            if(existing != null) {
+                throw new IllegalStateException(String.format("Group %s is already subscribed to topic %s.", group, topic));
+            }
+            return new EventProcessor(topic, group, topic(topic), handler, deadLetterHandler);
+        });
+        return () -> {
+            if(processors.remove(key, processor)) {
+                processor.halt();
+            }
+        };
+    }
+
+    private RingBuffer<Object> topic(String topic) {
+        return topics.computeIfAbsent(topic, name -> new RingBuffer<>(bufferSize));
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.sagabus;
+
+public interface Subscription extends AutoCloseable {
+    @Override
+    void close();
+}
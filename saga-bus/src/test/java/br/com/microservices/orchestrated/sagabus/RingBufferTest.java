@@ -0,0 +1,232 @@
+package br.com.microservices.orchestrated.sagabus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void deliversEveryMessageOnceInProducerOrderWithMultipleProducers() throws Exception {
+        var producers = 4;
+        var messagesPerProducer = 20_000;
+        var ringBuffer = new RingBuffer<Object>(64);
+        var received = new ArrayList<long[]>();
+        var done = new CountDownLatch(producers * messagesPerProducer);
+        var processor = new EventProcessor("topic", "group", ringBuffer, (sequence, message) -> {
+            received.add((long[]) message);
+            done.countDown();
+        }, (sequence, message, cause) -> {
+        });
+        var executor = Executors.newFixedThreadPool(producers);
+        try {
+            for(var producer = 0; producer < producers; producer++) {
+                var producerId = producer;
+                executor.submit(() -> {
+                    for(var index = 0; index < messagesPerProducer; index++) {
+                        var sequence = ringBuffer.next(TIMEOUT_NANOS);
+                        assertNotEquals(RingBuffer.INITIAL_SEQUENCE, sequence);
+                        ringBuffer.publish(sequence, new long[]{producerId, index});
+                    }
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            processor.halt();
+        }
+
+        assertEquals(producers * messagesPerProducer, received.size());
+        var lastIndexByProducer = new long[producers];
+        Arrays.fill(lastIndexByProducer, -1);
+        for(var message : received) {
+            var producerId = (int) message[0];
+            assertEquals(lastIndexByProducer[producerId] + 1, message[1]);
+            lastIndexByProducer[producerId] = message[1];
+        }
+    }
+
+    @Test
+    void reusesSlotsAfterWrappingAround() {
+        var ringBuffer = new RingBuffer<Long>(4);
+        var gatingSequence = ringBuffer.addGatingSequence();
+
+        for(var value = 0L; value < 10; value++) {
+            var sequence = ringBuffer.next(TIMEOUT_NANOS);
+            assertEquals(value, sequence);
+            ringBuffer.publish(sequence, value);
+            assertTrue(ringBuffer.isPublished(sequence));
+            assertEquals(value, ringBuffer.get(sequence));
+            gatingSequence.set(sequence);
+        }
+
+        assertFalse(ringBuffer.isPublished(5));
+        assertTrue(ringBuffer.isPublished(9));
+        assertEquals(9L, ringBuffer.get(5));
+    }
+
+    @Test
+    void blocksProducersUntilTheSlowestConsumerMovesOn() throws Exception {
+        var ringBuffer = new RingBuffer<Long>(4);
+        var fastConsumer = ringBuffer.addGatingSequence();
+        var slowConsumer = ringBuffer.addGatingSequence();
+        for(var value = 0L; value < 4; value++) {
+            ringBuffer.publish(ringBuffer.next(TIMEOUT_NANOS), value);
+        }
+        fastConsumer.set(3);
+
+        var blockedProducer = CompletableFuture.supplyAsync(() -> ringBuffer.next(TIMEOUT_NANOS));
+        Thread.sleep(100);
+        assertFalse(blockedProducer.isDone());
+
+        slowConsumer.set(0);
+        assertEquals(4L, blockedProducer.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void returnsInitialSequenceWhenTheBufferStaysFullPastTheTimeout() {
+        var ringBuffer = new RingBuffer<Long>(2);
+        ringBuffer.addGatingSequence();
+        ringBuffer.publish(ringBuffer.next(TIMEOUT_NANOS), 0L);
+        ringBuffer.publish(ringBuffer.next(TIMEOUT_NANOS), 1L);
+
+        var timeoutNanos = TimeUnit.MILLISECONDS.toNanos(20);
+        var start = System.nanoTime();
+        var sequence = ringBuffer.next(timeoutNanos);
+
+        assertEquals(RingBuffer.INITIAL_SEQUENCE, sequence);
+        assertTrue(System.nanoTime() - start >= timeoutNanos);
+        assertFalse(ringBuffer.isPublished(2));
+    }
+
+    @Test
+    void routesHandlerExceptionsToTheDeadLetterHandlerAndKeepsProcessing() throws Exception {
+        var sagaBus = new SagaBus(4);
+        var received = new CopyOnWriteArrayList<Object>();
+        var deadLetters = new CopyOnWriteArrayList<Object>();
+        var done = new CountDownLatch(3);
+        var subscription = sagaBus.subscribe("topic", "group", (sequence, message) -> {
+            if("poison".equals(message)) {
+                done.countDown();
+                throw new IllegalStateException("handler failed");
+            }
+            received.add(message);
+            done.countDown();
+        }, (sequence, message, cause) -> {
+            assertEquals("handler failed", cause.getMessage());
+            deadLetters.add(message);
+        });
+        try {
+            sagaBus.publish("topic", "first", 1000);
+            sagaBus.publish("topic", "poison", 1000);
+            sagaBus.publish("topic", "second", 1000);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            subscription.close();
+        }
+
+        assertEquals(List.of("first", "second"), received);
+        assertEquals(List.of("poison"), deadLetters);
+    }
+
+    @Test
+    void keepsProcessingWhenTheDeadLetterHandlerFails() throws Exception {
+        var sagaBus = new SagaBus(4);
+        var received = new CopyOnWriteArrayList<Object>();
+        var done = new CountDownLatch(1);
+        var subscription = sagaBus.subscribe("topic", "group", (sequence, message) -> {
+            if("poison".equals(message)) {
+                throw new IllegalStateException("handler failed");
+            }
+            received.add(message);
+            done.countDown();
+        }, (sequence, message, cause) -> {
+            throw new IllegalStateException("dead letter topic is down");
+        });
+        try {
+            sagaBus.publish("topic", "poison", 1000);
+            sagaBus.publish("topic", "next", 1000);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            subscription.close();
+        }
+
+        assertEquals(List.of("next"), received);
+    }
+
+    @Test
+    void failsThePublishInsteadOfDroppingWhenTheConsumerStaysBehind() throws Exception {
+        var sagaBus = new SagaBus(2);
+        var received = new CopyOnWriteArrayList<Object>();
+        var handling = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var subscription = sagaBus.subscribe("topic", "group", (sequence, message) -> {
+            handling.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message);
+        });
+        try {
+            sagaBus.publish("topic", "first", 1000);
+            assertTrue(handling.await(10, TimeUnit.SECONDS));
+            sagaBus.publish("topic", "second", 1000);
+
+            var exception = assertThrows(IllegalStateException.class, () -> sagaBus.publish("topic", "third", 20));
+            assertTrue(exception.getMessage().contains("topic"));
+
+            release.countDown();
+            sagaBus.publish("topic", "fourth", 1000);
+            var deadline = System.nanoTime() + TIMEOUT_NANOS;
+            while(received.size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            release.countDown();
+            subscription.close();
+        }
+
+        assertEquals(List.of("first", "second", "fourth"), received);
+    }
+
+    @Test
+    void claimsDistinctSequencesUnderContention() throws Exception {
+        var producers = 8;
+        var claimsPerProducer = 5_000;
+        var ringBuffer = new RingBuffer<Long>(1 << 16);
+        var executor = Executors.newFixedThreadPool(producers);
+        var futures = new ArrayList<CompletableFuture<List<Long>>>();
+        try {
+            for(var producer = 0; producer < producers; producer++) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    var claimed = new ArrayList<Long>();
+                    for(var index = 0; index < claimsPerProducer; index++) {
+                        claimed.add(ringBuffer.next(TIMEOUT_NANOS));
+                    }
+                    return claimed;
+                }, executor));
+            }
+            var sequences = new HashSet<Long>();
+            for(var future : futures) {
+                sequences.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(producers * claimsPerProducer, sequences.size());
+            assertFalse(sequences.contains(RingBuffer.INITIAL_SEQUENCE));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}